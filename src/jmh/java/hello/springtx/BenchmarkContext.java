@@ -0,0 +1,41 @@
+package hello.springtx;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 스프링 컨텍스트. H2 메모리 DB 를 쓰고 트랜잭션 TRACE 로그는 끈다.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return start(new Class<?>[0], args);
+    }
+
+    /**
+     * extraSources 는 벤치마크 전용 빈(@Transactional 서비스 등)으로 함께 등록된다.
+     */
+    public static ConfigurableApplicationContext start(Class<?>[] extraSources, String... args) {
+        String[] defaults = {
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.jdbc.datasource.DataSourceTransactionManager=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.org.hibernate.resource.transaction=WARN",
+                "--logging.level.hello.springtx=WARN"
+        };
+        String[] merged = new String[defaults.length + args.length];
+        System.arraycopy(defaults, 0, merged, 0, defaults.length);
+        System.arraycopy(args, 0, merged, defaults.length, args.length);
+
+        return new SpringApplicationBuilder(SpringtxApplication.class)
+                .sources(extraSources)
+                .web(WebApplicationType.NONE)
+                .run(merged);
+    }
+}
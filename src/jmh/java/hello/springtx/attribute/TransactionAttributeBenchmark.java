@@ -0,0 +1,65 @@
+package hello.springtx.attribute;
+
+import hello.springtx.BenchmarkContext;
+import hello.springtx.propagation.MemberService;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 기본 트랜잭션 advisor(table=false) 와 미리 계산한 속성 표(table=true) 의 호출당 비용.
+ * supports 는 트랜잭션 없이 SUPPORTS 메서드를 불러 interceptor 비용만 남기고, joinV1 은 실제 가입 전체다.
+ * 메트릭 리스너는 꺼서 interceptor 차이가 묻히지 않게 한다.
+ */
+@State(Scope.Benchmark)
+public class TransactionAttributeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean table;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private SupportsService supportsService;
+    private MemberService memberService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(new Class<?>[]{SupportsService.class},
+                "--springtx.tx.attribute-table.enabled=" + table,
+                "--springtx.tx.metrics.enabled=false");
+        supportsService = context.getBean(SupportsService.class);
+        memberService = context.getBean(MemberService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean supports() {
+        return supportsService.check();
+    }
+
+    @Benchmark
+    public void joinV1() {
+        memberService.joinV1("attribute_bench_" + sequence.incrementAndGet());
+    }
+
+    public static class SupportsService {
+
+        @Transactional(propagation = Propagation.SUPPORTS)
+        public boolean check() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package hello.springtx.datasource;
+
+import hello.springtx.BenchmarkContext;
+import hello.springtx.propagation.MemberService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * SQL 없는 @Transactional 호출 80% + joinV1 20% 혼합 부하.
+ * 종료 시 호출 한 번당 풀 체크아웃 수(hikaricp.connections.acquire)를 로그로 남긴다.
+ * BenchmarkContext 가 hello.springtx 로그를 WARN 으로 올리므로 WARN 으로 남긴다.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+public class LazyConnectionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private NoSqlService noSqlService;
+    private MemberService memberService;
+    private long acquiredBefore;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(new Class<?>[]{NoSqlService.class},
+                "--springtx.datasource.lazy-connection.enabled=" + lazy);
+        noSqlService = context.getBean(NoSqlService.class);
+        memberService = context.getBean(MemberService.class);
+        acquiredBefore = acquired();
+    }
+
+    @TearDown
+    public void tearDown() {
+        long checkouts = acquired() - acquiredBefore;
+        log.warn("lazy={} calls={} checkouts={} checkouts/call={}", lazy, calls.get(), checkouts,
+                String.format("%.3f", (double) checkouts / Math.max(calls.get(), 1)));
+        context.close();
+    }
+
+    @Benchmark
+    public boolean mixed() {
+        calls.incrementAndGet();
+        if (ThreadLocalRandom.current().nextInt(10) < 8) {
+            return noSqlService.check();
+        }
+        memberService.joinV1("lazy_bench_" + sequence.incrementAndGet());
+        return true;
+    }
+
+    private long acquired() {
+        Timer timer = context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    public static class NoSqlService {
+
+        @Transactional
+        public boolean check() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package hello.springtx.order;
+
+import hello.springtx.BenchmarkContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 결제 완료 주문 200,020 건(사이사이 대기 주문이 10% 섞여 있다)에서 1 페이지와 10,000 페이지(페이지당 20 건)를 읽는 비용을 비교한다.
+ * keyset 은 페이지 위치와 상관없이 같고, offset 은 앞의 행을 건너뛰는 만큼 느려진다.
+ */
+@State(Scope.Benchmark)
+public class OrderPageBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int LAST_PAGE = 10_000;
+    private static final int COMPLETE_ROWS = PAGE_SIZE * LAST_PAGE + PAGE_SIZE;
+
+    @Param({"1", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        orderRepository = context.getBean(OrderRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>();
+        int complete = 0;
+        for (int i = 0; complete < COMPLETE_ROWS; i++) {
+            // 다른 상태를 섞어서 결제 완료 주문의 ID 가 연속되지 않게 한다
+            char status = (i % 10 == 0 ? PayStatus.WAITING.getCode() : PayStatus.COMPLETE.getCode());
+            if (status == PayStatus.COMPLETE.getCode()) {
+                complete++;
+            }
+            rows.add(new Object[]{"page_bench_" + i, String.valueOf(status)});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into orders (id, user_name, pay_status) values (next value for orders_seq, ?, ?)", rows);
+
+        // keyset 은 앞 페이지의 토큰이 있어야 하므로 미리 page - 1 번 넘겨 둔다
+        for (int i = 1; i < page; i++) {
+            token = orderRepository.findSummariesByPayStatus(PayStatus.COMPLETE, token, PAGE_SIZE).nextToken();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object keyset() {
+        return orderRepository.findByPayStatus(PayStatus.COMPLETE, token, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object keysetSummary() {
+        return orderRepository.findSummariesByPayStatus(PayStatus.COMPLETE, token, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object offset() {
+        return orderRepository.findByPayStatusOrderById(PayStatus.COMPLETE, PageRequest.of(page - 1, PAGE_SIZE));
+    }
+}
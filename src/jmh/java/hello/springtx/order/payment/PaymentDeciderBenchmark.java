@@ -0,0 +1,47 @@
+package hello.springtx.order.payment;
+
+import hello.springtx.order.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 결제 결정 처리량. gc 프로파일러의 gc.alloc.rate.norm 이 0 이어야 한다.
+ */
+@State(Scope.Benchmark)
+public class PaymentDeciderBenchmark {
+
+    @Param({"정상", "예외", "잔고 부족"})
+    public String userName;
+
+    private PaymentDecider decider;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        PaymentRuleProperties properties = new PaymentRuleProperties();
+        decider = new RuleBasedPaymentDecider(properties.getRules(), properties.getDefaultDecision());
+        order = new Order();
+        order.setUserName(userName);
+    }
+
+    @Benchmark
+    public PaymentDecision ruleBased() {
+        return decider.decide(order);
+    }
+
+    /**
+     * 기존 OrderService 의 문자열 비교 방식
+     */
+    @Benchmark
+    public PaymentDecision stringCompare() {
+        if (order.getUserName().equals("예외")) {
+            return PaymentDecision.SYSTEM_ERROR;
+        } else if (order.getUserName().equals("잔고 부족")) {
+            return PaymentDecision.NOT_ENOUGH_MONEY;
+        }
+        return PaymentDecision.APPROVE;
+    }
+}
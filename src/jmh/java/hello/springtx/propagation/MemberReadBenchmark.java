@@ -0,0 +1,74 @@
+package hello.springtx.propagation;
+
+import hello.springtx.BenchmarkContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 읽기 위주 부하에서 Hibernate 2차 캐시(springtx.member.l2-cache.enabled) 를 켰을 때와 껐을 때를 비교한다.
+ * <ul>
+ *     <li>find : 이미 가입한 회원 이름 조회만</li>
+ *     <li>readHeavy : 조회 9 번에 가입 1 번. 가입은 커밋 때 member 쿼리 결과를 무효로 만든다</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class MemberReadBenchmark {
+
+    private static final int MEMBERS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean l2Cache;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<String> names = new ArrayList<>(MEMBERS);
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+    private MemberRepository memberRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("--springtx.member.l2-cache.enabled=" + l2Cache);
+        memberService = context.getBean(MemberService.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        for (int i = 0; i < MEMBERS; i++) {
+            String name = "bench_read_" + i;
+            memberService.joinV1(name);
+            names.add(name);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object find() {
+        return memberRepository.find(randomName());
+    }
+
+    @Benchmark
+    public Object readHeavy() {
+        if (ThreadLocalRandom.current().nextInt(10) == 0) {
+            memberService.joinV1("bench_read_new_" + sequence.incrementAndGet());
+            return null;
+        }
+        return memberRepository.find(randomName());
+    }
+
+    private String randomName() {
+        return names.get(ThreadLocalRandom.current().nextInt(MEMBERS));
+    }
+}
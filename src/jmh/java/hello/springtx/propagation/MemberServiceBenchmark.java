@@ -0,0 +1,43 @@
+package hello.springtx.propagation;
+
+import hello.springtx.BenchmarkContext;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * joinV1 / joinV2 는 모두 회원 트랜잭션 + 로그 REQUIRES_NEW 트랜잭션, 커넥션 두 개를 쓴다.
+ */
+@State(Scope.Benchmark)
+public class MemberServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberService = context.getBean(MemberService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void joinV1() {
+        memberService.joinV1("bench_v1_" + sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    public void joinV2() {
+        memberService.joinV2("bench_v2_" + sequence.incrementAndGet());
+    }
+}
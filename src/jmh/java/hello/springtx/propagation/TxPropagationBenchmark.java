@@ -0,0 +1,72 @@
+package hello.springtx.propagation;
+
+import hello.springtx.BenchmarkContext;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * BasicTxTest 의 inner / outer 패턴을 트랜잭션 매니저별로 측정한다.
+ */
+@State(Scope.Benchmark)
+public class TxPropagationBenchmark {
+
+    private static final TransactionDefinition REQUIRED = new DefaultTransactionDefinition();
+    private static final TransactionDefinition REQUIRES_NEW =
+            new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    @Param({"dataSource", "jpa"})
+    public String txManager;
+
+    private ConfigurableApplicationContext context;
+    private PlatformTransactionManager transactionManager;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        if (txManager.equals("jpa")) {
+            transactionManager = new JpaTransactionManager(context.getBean(EntityManagerFactory.class));
+        } else {
+            transactionManager = new DataSourceTransactionManager(context.getBean(DataSource.class));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void single() {
+        TransactionStatus status = transactionManager.getTransaction(REQUIRED);
+        transactionManager.commit(status);
+    }
+
+    @Benchmark
+    public void innerRequired() {
+        TransactionStatus outer = transactionManager.getTransaction(REQUIRED);
+        TransactionStatus inner = transactionManager.getTransaction(REQUIRED);
+        transactionManager.commit(inner);
+        transactionManager.commit(outer);
+    }
+
+    @Benchmark
+    public void innerRequiresNew() {
+        TransactionStatus outer = transactionManager.getTransaction(REQUIRED);
+        TransactionStatus inner = transactionManager.getTransaction(REQUIRES_NEW);
+        transactionManager.commit(inner);
+        transactionManager.commit(outer);
+    }
+}
@@ -0,0 +1,126 @@
+package hello.springtx.rollback;
+
+import hello.springtx.BenchmarkContext;
+import hello.springtx.order.NotEnoughMoneyException;
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderService;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 예외로 끝나는 트랜잭션 호출의 비용. 기본 롤백 규칙 판정(rollbackCache=false)과 판정 캐시(rollbackCache=true)를 비교한다.
+ * failing* 은 트랜잭션 없이 SUPPORTS 메서드에서 예외를 던져 예외 생성과 롤백 판정 비용만 남긴다.
+ * stackless / traced 는 같은 BusinessException 을 @Stackless 유무만 달리한 것이다.
+ * notEnoughMoneyOrder 는 잔고 부족으로 대기 주문을 커밋하는 실제 주문 흐름 전체다.
+ */
+@State(Scope.Benchmark)
+public class RollbackDecisionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean rollbackCache;
+
+    private ConfigurableApplicationContext context;
+    private FailingService failingService;
+    private OrderService orderService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(new Class<?>[]{FailingService.class},
+                "--springtx.tx.rollback-cache.enabled=" + rollbackCache,
+                "--springtx.tx.metrics.enabled=false");
+        failingService = context.getBean(FailingService.class);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object failingStackless() {
+        try {
+            failingService.stackless();
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object failingTraced() {
+        try {
+            failingService.traced();
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object failingRuntime() {
+        try {
+            failingService.runtime();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object notEnoughMoneyOrder() {
+        Order order = new Order();
+        order.setUserName("잔고 부족");
+        try {
+            orderService.order(order);
+            return order;
+        } catch (NotEnoughMoneyException e) {
+            return e;
+        }
+    }
+
+    /**
+     * 규칙 여러 개를 두어 기본 판정이 규칙마다 예외 클래스 계층을 걷게 한다.
+     */
+    public static class FailingService {
+
+        @Transactional(propagation = Propagation.SUPPORTS, rollbackFor = IOException.class,
+                noRollbackFor = {IllegalStateException.class, IllegalArgumentException.class})
+        public void stackless() throws BusinessException {
+            throw new StacklessFailure();
+        }
+
+        @Transactional(propagation = Propagation.SUPPORTS, rollbackFor = IOException.class,
+                noRollbackFor = {IllegalStateException.class, IllegalArgumentException.class})
+        public void traced() throws BusinessException {
+            throw new TracedFailure();
+        }
+
+        @Transactional(propagation = Propagation.SUPPORTS, rollbackFor = IOException.class,
+                noRollbackFor = {IllegalStateException.class, IllegalArgumentException.class})
+        public void runtime() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Stackless
+    static class StacklessFailure extends BusinessException {
+        StacklessFailure() {
+            super("stackless");
+        }
+    }
+
+    static class TracedFailure extends BusinessException {
+        TracedFailure() {
+            super("traced");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package hello.springtx.shard;
+
+import hello.springtx.BenchmarkContext;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 샤드 1 ~ 4 개에서 회원 + 첫 주문 저장(joinWithOrder) 처리량. 8 스레드, 샤드당 커넥션 풀 4 개.
+ * 샤드가 모두 같은 JVM 의 H2 메모리 DB 이므로 디스크 / 네트워크가 아니라 풀과 테이블 잠금이 나뉘는 효과만 보인다.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class ShardThroughputBenchmark {
+
+    @Param({"1", "2", "3", "4"})
+    public int shards;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ShardedMemberService memberService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--springtx.shard.enabled=true",
+                "--springtx.shard.count=" + shards,
+                "--springtx.shard.maximum-pool-size=4");
+        memberService = context.getBean(ShardedMemberService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void joinWithOrder() {
+        memberService.joinWithOrder("shard_bench_" + sequence.incrementAndGet());
+    }
+}
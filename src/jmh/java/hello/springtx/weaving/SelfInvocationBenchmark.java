@@ -0,0 +1,97 @@
+package hello.springtx.weaving;
+
+import hello.springtx.BenchmarkContext;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 프록시 방식과 위빙 방식의 호출당 비용. 모드는 JVM 이 정한다.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=SelfInvocationBenchmark               # 프록시
+ * ./gradlew jmh -PjmhIncludes=SelfInvocationBenchmark -PjmhWeaving  # 위빙
+ * </pre>
+ * split 은 InternalCallV2Test 처럼 다른 빈을 거쳐 부르고, self 는 this 로 부른다.
+ * 프록시 모드의 self 는 트랜잭션이 빠진 호출이라 비용의 하한으로만 본다.
+ * gradle 이 넘긴 springtx.jmh.weaving 과 실제 위빙 여부가 다르면 setUp 에서 실패한다.
+ * 트랜잭션 매니저 비용이 묻히지 않게 SUPPORTS 메서드를 트랜잭션 없이 부르고 메트릭 리스너는 끈다.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+public class SelfInvocationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SplitService splitService;
+    private SelfService selfService;
+
+    @Setup
+    public void setUp() {
+        boolean woven = Weaving.isWoven();
+        String expected = System.getProperty("springtx.jmh.weaving");
+        if (expected != null && Boolean.parseBoolean(expected) != woven) {
+            throw new IllegalStateException("springtx.jmh.weaving=" + expected + " 인데 woven=" + woven
+                    + ", aspectjweaver 에이전트 설정을 확인");
+        }
+        context = BenchmarkContext.start(new Class<?>[]{SplitService.class, InnerService.class, SelfService.class},
+                "--springtx.tx.weaving.enabled=" + woven,
+                "--springtx.tx.metrics.enabled=false");
+        splitService = context.getBean(SplitService.class);
+        selfService = context.getBean(SelfService.class);
+        log.warn("self invocation benchmark woven={}", woven);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean split() {
+        return splitService.external();
+    }
+
+    @Benchmark
+    public boolean self() {
+        return selfService.external();
+    }
+
+    public static class SplitService {
+
+        private final InnerService innerService;
+
+        public SplitService(InnerService innerService) {
+            this.innerService = innerService;
+        }
+
+        public boolean external() {
+            return innerService.internal();
+        }
+    }
+
+    public static class InnerService {
+
+        @Transactional(propagation = Propagation.SUPPORTS)
+        public boolean internal() {
+            return TransactionSynchronizationManager.isSynchronizationActive();
+        }
+    }
+
+    public static class SelfService {
+
+        public boolean external() {
+            return internal();
+        }
+
+        @Transactional(propagation = Propagation.SUPPORTS)
+        public boolean internal() {
+            return TransactionSynchronizationManager.isSynchronizationActive();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hello.springtx;
+
+/**
+ * 엔티티 ID 시퀀스 할당 크기.
+ * 시퀀스를 한 번 조회할 때 ALLOCATION_SIZE 만큼의 ID 를 미리 확보하므로
+ * persist 마다 DB 를 왕복하지 않고 insert 를 JDBC 배치로 묶을 수 있다.
+ * JPA 애너테이션 값이라 컴파일 타임 상수여야 하며, 최적화 방식(pooled / pooled-lo)은
+ * hibernate.id.optimizer.pooled.preferred 로 바꿀 수 있다.
+ */
+public final class IdAllocation {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
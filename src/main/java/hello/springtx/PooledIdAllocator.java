@@ -0,0 +1,77 @@
+package hello.springtx;
+
+import jakarta.persistence.SequenceGenerator;
+import javax.sql.DataSource;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+
+/**
+ * JPA 엔티티의 시퀀스를 JDBC 로 insert 하는 쪽에서 같이 쓰는 ID 할당기.
+ *
+ * <p>시퀀스 이름과 할당 크기는 엔티티의 @SequenceGenerator(allocationSize = IdAllocation.ALLOCATION_SIZE)에서 읽고,
+ * 시퀀스 값 하나를 Hibernate 의 pooled / pooled-lo 최적화와 같은 ID 블록으로 해석한다.
+ * 그래서 같은 시퀀스로 persist 하는 JPA 쪽과 ID 가 겹치지 않고, 시퀀스는 allocationSize 건마다 한 번만 조회한다.
+ * <ul>
+ *     <li>pooled : 시퀀스 값 v 가 블록의 끝이다. (v - allocationSize, v]</li>
+ *     <li>pooled-lo : 시퀀스 값 v 가 블록의 시작이다. [v, v + allocationSize)</li>
+ * </ul>
+ *
+ * <p>Hibernate 의 pooled 최적화는 시퀀스의 첫 값(initialValue = 1)을 받으면 시퀀스를 한 번 더 읽고 [1, 두 번째 값] 을 쓴다.
+ * 두 번 읽는 사이에 이 할당기가 시퀀스를 읽으면 그 블록이 Hibernate 블록과 겹친다.
+ * 그래서 생성할 때(컨텍스트 refresh 중, JPA 가 처음 persist 하기 전) 첫 블록을 바로 받아 둔다.
+ * 그러면 Hibernate 의 첫 조회는 첫 값이 아니므로 두 번 읽지 않는다.
+ * 여러 노드가 새 DB 를 동시에 쓰기 시작해서 한 노드의 Hibernate 가 시퀀스를 가장 먼저 읽은 경우에는 여전히 겹칠 수 있으므로,
+ * 그런 배포에서는 시퀀스를 미리 한 번 읽어 둔다.
+ */
+public class PooledIdAllocator {
+
+    private final DataFieldMaxValueIncrementer sequence;
+    private final int allocationSize;
+    private final boolean lowValue;
+
+    private long next;
+    private long limit;
+
+    public PooledIdAllocator(DataFieldMaxValueIncrementer sequence, int allocationSize, String optimizer) {
+        if (!"pooled".equals(optimizer) && !"pooled-lo".equals(optimizer)) {
+            throw new IllegalArgumentException("지원하지 않는 시퀀스 최적화: " + optimizer);
+        }
+        this.sequence = sequence;
+        this.allocationSize = allocationSize;
+        this.lowValue = "pooled-lo".equals(optimizer);
+        allocate();
+    }
+
+    /**
+     * entityType 의 @SequenceGenerator 로 H2 시퀀스 할당기를 만든다.
+     *
+     * @param optimizer hibernate.id.optimizer.pooled.preferred 값 (pooled / pooled-lo)
+     */
+    public static PooledIdAllocator forEntity(DataSource dataSource, Class<?> entityType, String optimizer) {
+        SequenceGenerator generator = entityType.getAnnotation(SequenceGenerator.class);
+        if (generator == null) {
+            throw new IllegalArgumentException("@SequenceGenerator 가 없다: " + entityType.getName());
+        }
+        return new PooledIdAllocator(new H2SequenceMaxValueIncrementer(dataSource, generator.sequenceName()),
+                generator.allocationSize(), optimizer);
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            allocate();
+        }
+        return next++;
+    }
+
+    private void allocate() {
+        long value = sequence.nextLongValue();
+        if (lowValue) {
+            next = value;
+            limit = value + allocationSize;
+        } else {
+            // 시퀀스 첫 값(1)을 블록 끝으로 보면 1 보다 작은 ID 가 나오므로 ID 1 하나만 쓴다. 다음 블록은 다음 시퀀스 값을 받은 쪽이 쓴다.
+            next = Math.max(1, value - allocationSize + 1);
+            limit = value + 1;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springtx.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * springtx.tx.admission.enabled=true 일 때만 켠다. 켜면 @RequiresConnections 메서드가 애플리케이션 전체 세마포어 하나를 거친다.
+ * 허가 수는 springtx.tx.admission.permits, 없으면 주 DataSource 의 Hikari 최대 풀 크기.
+ * 트랜잭션 advisor(LOWEST_PRECEDENCE) 바깥, 재시도 advisor 안쪽에 둔다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.tx.admission", name = "enabled", havingValue = "true")
+public class ConnectionAdmissionConfig {
+
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor connectionAdmissionAdvisor(
+            @Value("${springtx.tx.admission.permits:0}") int permits,
+            @Value("${springtx.tx.admission.timeout:5s}") Duration timeout,
+            ObjectProvider<DataSource> dataSource) {
+        ConnectionAdmissionInterceptor interceptor = new ConnectionAdmissionInterceptor(
+                () -> permits > 0 ? permits : poolSize(dataSource.getObject()), timeout);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(RequiresConnections.class), interceptor);
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("커넥션 풀 크기를 알 수 없습니다.", e);
+        }
+        throw new IllegalStateException("Hikari 가 아닌 DataSource 는 springtx.tx.admission.permits 를 지정해야 합니다.");
+    }
+}
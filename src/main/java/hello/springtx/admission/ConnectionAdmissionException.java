@@ -0,0 +1,7 @@
+package hello.springtx.admission;
+
+public class ConnectionAdmissionException extends RuntimeException {
+    public ConnectionAdmissionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,97 @@
+package hello.springtx.admission;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link RequiresConnections} 메서드에 들어가기 전에 커넥션 허가를 잡고, 끝나면 돌려준다.
+ * 같은 스레드에서 이미 허가를 잡은 채 다시 들어오면 새로 잡지 않는다.
+ */
+@Slf4j
+public class ConnectionAdmissionInterceptor implements MethodInterceptor {
+
+    private final IntSupplier poolSize;
+    private final Duration timeout;
+    private final ConcurrentMap<Method, Integer> demandCache = new ConcurrentHashMap<>();
+    private final ThreadLocal<Integer> held = ThreadLocal.withInitial(() -> 0);
+
+    private volatile Semaphore permits;
+    private volatile int totalPermits;
+
+    public ConnectionAdmissionInterceptor(IntSupplier poolSize, Duration timeout) {
+        this.poolSize = poolSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (held.get() > 0) {
+            return invocation.proceed();
+        }
+
+        Method method = invocation.getMethod();
+        Class<?> targetClass = (invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null);
+        int demand = demandCache.computeIfAbsent(method, m -> {
+            RequiresConnections annotation = AnnotatedElementUtils.findMergedAnnotation(
+                    AopUtils.getMostSpecificMethod(m, targetClass), RequiresConnections.class);
+            return annotation == null ? 0 : annotation.value();
+        });
+        if (demand <= 0) {
+            return invocation.proceed();
+        }
+
+        Semaphore semaphore = permits();
+        String name = ClassUtils.getQualifiedMethodName(method, targetClass);
+        if (demand > totalPermits) {
+            throw new ConnectionAdmissionException(name + " 은(는) 커넥션 " + demand
+                    + "개가 필요하지만 풀 크기가 " + totalPermits + "개입니다.");
+        }
+        if (!semaphore.tryAcquire(demand, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new ConnectionAdmissionException(name + " 에 필요한 커넥션 " + demand + "개를 "
+                    + timeout.toMillis() + "ms 안에 확보하지 못했습니다. (풀 " + totalPermits
+                    + "개, 남은 허가 " + semaphore.availablePermits() + "개)");
+        }
+
+        held.set(demand);
+        try {
+            return invocation.proceed();
+        } finally {
+            held.set(0);
+            semaphore.release(demand);
+        }
+    }
+
+    public int availablePermits() {
+        return permits().availablePermits();
+    }
+
+    /**
+     * 풀 크기는 DataSource 가 만들어진 뒤에 알 수 있으므로 처음 호출될 때 정한다.
+     */
+    private Semaphore permits() {
+        Semaphore semaphore = permits;
+        if (semaphore == null) {
+            synchronized (this) {
+                semaphore = permits;
+                if (semaphore == null) {
+                    totalPermits = poolSize.getAsInt();
+                    log.info("커넥션 admission 허가 수 permits={}", totalPermits);
+                    semaphore = new Semaphore(totalPermits, true);
+                    permits = semaphore;
+                }
+            }
+        }
+        return semaphore;
+    }
+}
@@ -0,0 +1,23 @@
+package hello.springtx.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드가 끝날 때까지 동시에 붙잡는 커넥션 수.
+ * REQUIRED 트랜잭션 안에서 REQUIRES_NEW 를 한 번 부르면 2 다 (MemberService.joinV1 -> LogRepository.save).
+ *
+ * <p>커넥션 풀 크기만큼의 허가(permit)를 두고 메서드에 들어오기 전에 value 만큼 미리 잡는다.
+ * 모든 스레드가 커넥션 하나씩 쥔 채 두 번째 커넥션을 기다리는 풀 데드락이 생기지 않고,
+ * 허가를 받지 못하면 풀 타임아웃까지 멈춰 있는 대신 ConnectionAdmissionException 으로 바로 실패한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresConnections {
+
+    int value() default 2;
+}
@@ -0,0 +1,35 @@
+package hello.springtx.attribute;
+
+import java.lang.reflect.Method;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+/**
+ * TransactionAttributeTable 의 항목 하나(메서드 하나)에만 걸리는 트랜잭션 advisor.
+ *
+ * <p>프록시는 메서드별 interceptor 체인을 처음 호출할 때 한 번 만들어 두므로, 메서드마다 자기 항목 번호를 가진
+ * TransactionInterceptor 가 체인에 들어가고 호출 때는 표의 배열 칸 하나만 읽는다.
+ * 기본 advisor 처럼 (메서드, 클래스) 키를 만들어 캐시를 찾거나 트랜잭션 매니저 캐시를 찾지 않는다.
+ */
+public class PrecomputedTransactionAdvisor extends StaticMethodMatcherPointcutAdvisor {
+
+    private final TransactionAttributeTable table;
+    private final int index;
+
+    public PrecomputedTransactionAdvisor(TransactionAttributeTable table, int index, TransactionManager transactionManager) {
+        super(new TransactionInterceptor(transactionManager, (method, targetClass) -> table.attribute(index)));
+        this.table = table;
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return AopUtils.getMostSpecificMethod(method, targetClass).equals(table.method(index));
+    }
+}
@@ -0,0 +1,124 @@
+package hello.springtx.attribute;
+
+import hello.springtx.rollback.CompiledRollbackRuleAttribute;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 시작할 때 모든 빈 클래스의 @Transactional 메서드 속성을 풀어 둔 표. 만든 뒤에는 바뀌지 않는다.
+ *
+ * <p>i 번째 항목은 targetClass(i), method(i), attribute(i) 로 배열에서 바로 읽는다.
+ * 속성에는 이름(패키지를 포함한 클래스명.메서드명)을 미리 넣어 두어
+ * TransactionInterceptor 가 호출마다 이름을 붙인 DelegatingTransactionAttribute 를 만들지 않는다.
+ * 롤백 규칙이 있는 속성은 CompiledRollbackRuleAttribute 로 복사해 예외 클래스별 판정도 기억한다.
+ */
+public final class TransactionAttributeTable {
+
+    private static final int[] NONE = new int[0];
+
+    private final Class<?>[] targetClasses;
+    private final Method[] methods;
+    private final TransactionAttribute[] attributes;
+
+    /** advisor 를 붙일 때(시작할 때)만 쓴다 */
+    private final Map<Class<?>, int[]> indexesByClass;
+
+    private TransactionAttributeTable(List<Class<?>> targetClasses, List<Method> methods,
+                                      List<TransactionAttribute> attributes) {
+        this.targetClasses = targetClasses.toArray(new Class<?>[0]);
+        this.methods = methods.toArray(new Method[0]);
+        this.attributes = attributes.toArray(new TransactionAttribute[0]);
+
+        Map<Class<?>, List<Integer>> grouped = new HashMap<>();
+        for (int i = 0; i < this.targetClasses.length; i++) {
+            grouped.computeIfAbsent(this.targetClasses[i], c -> new ArrayList<>()).add(i);
+        }
+        Map<Class<?>, int[]> indexes = new HashMap<>();
+        grouped.forEach((type, list) -> indexes.put(type, list.stream().mapToInt(Integer::intValue).toArray()));
+        this.indexesByClass = Map.copyOf(indexes);
+    }
+
+    /**
+     * 빈 정의의 타입만 보고 만든다. 빈은 만들지 않으며, 타입을 미리 알 수 없는 빈은 표에 없다.
+     */
+    public static TransactionAttributeTable resolve(ConfigurableListableBeanFactory beanFactory,
+                                                    TransactionAttributeSource source) {
+        List<Class<?>> targetClasses = new ArrayList<>();
+        List<Method> methods = new ArrayList<>();
+        List<TransactionAttribute> attributes = new ArrayList<>();
+        Set<Class<?>> seen = new HashSet<>();
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isAbstract() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type == null) {
+                continue;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(type);
+            if (!seen.add(userClass) || userClass.isInterface() || !source.isCandidateClass(userClass)) {
+                continue;
+            }
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(userClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+                if (Modifier.isStatic(method.getModifiers()) || Modifier.isPrivate(method.getModifiers())) {
+                    continue;
+                }
+                TransactionAttribute attribute = source.getTransactionAttribute(method, userClass);
+                if (attribute != null) {
+                    targetClasses.add(userClass);
+                    methods.add(method);
+                    attributes.add(named(attribute, ClassUtils.getQualifiedMethodName(method, userClass)));
+                }
+            }
+        }
+        return new TransactionAttributeTable(targetClasses, methods, attributes);
+    }
+
+    private static TransactionAttribute named(TransactionAttribute attribute, String name) {
+        DefaultTransactionAttribute copy = (attribute instanceof RuleBasedTransactionAttribute rule
+                ? new CompiledRollbackRuleAttribute(rule) : new DefaultTransactionAttribute(attribute));
+        copy.setName(name);
+        copy.setDescriptor(name);
+        return copy;
+    }
+
+    public int size() {
+        return attributes.length;
+    }
+
+    public Class<?> targetClass(int index) {
+        return targetClasses[index];
+    }
+
+    public Method method(int index) {
+        return methods[index];
+    }
+
+    public TransactionAttribute attribute(int index) {
+        return attributes[index];
+    }
+
+    /**
+     * @return targetClass 의 항목 번호들, 없으면 빈 배열
+     */
+    public int[] indexesOf(Class<?> targetClass) {
+        int[] indexes = indexesByClass.get(targetClass);
+        return indexes == null ? NONE : indexes.clone();
+    }
+}
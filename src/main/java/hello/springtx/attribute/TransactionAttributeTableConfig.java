@@ -0,0 +1,96 @@
+package hello.springtx.attribute;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.EmbeddedValueResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+import org.springframework.util.StringUtils;
+
+/**
+ * springtx.tx.attribute-table.enabled=true 이면 시작할 때 트랜잭션 속성 표를 만들고,
+ * 표에 있는 빈 프록시의 기본 트랜잭션 advisor 를 메서드별 PrecomputedTransactionAdvisor 로 바꾼다.
+ *
+ * <p>속성은 기본 설정(ProxyTransactionManagementConfiguration)과 같은 AnnotationTransactionAttributeSource(false) 로 풀므로
+ * 클래스 / 메서드 레벨 병합(TxLevelTest)과 protected 메서드 처리가 같다. 표에 없는 빈은 기본 advisor 를 그대로 쓴다.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.tx.attribute-table", name = "enabled", havingValue = "true")
+public class TransactionAttributeTableConfig {
+
+    public static final String TABLE_BEAN_NAME = "transactionAttributeTable";
+
+    /**
+     * 빈을 만들기 전에 표를 만들어 싱글톤으로 등록한다. placeholder 설정 뒤에 돌도록 가장 늦게 둔다.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor transactionAttributeTableBuilder() {
+        return new OrderedBeanFactoryPostProcessor();
+    }
+
+    @Bean
+    public static BeanPostProcessor precomputedTransactionAdvisorPostProcessor(BeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // 자동 프록시 생성기(Ordered) 다음에 도는 일반 BeanPostProcessor 라서 이미 만들어진 프록시를 받는다
+                if (!(bean instanceof Advised advised) || advised.isFrozen()) {
+                    return bean;
+                }
+                TransactionAttributeTable table = beanFactory.getBean(TABLE_BEAN_NAME, TransactionAttributeTable.class);
+                int[] indexes = table.indexesOf(advised.getTargetSource().getTargetClass());
+                if (indexes.length == 0) {
+                    return bean;
+                }
+                Advisor[] advisors = advised.getAdvisors();
+                for (int position = 0; position < advisors.length; position++) {
+                    if (advisors[position] instanceof BeanFactoryTransactionAttributeSourceAdvisor) {
+                        advised.removeAdvisor(position);
+                        for (int index : indexes) {
+                            advised.addAdvisor(position, new PrecomputedTransactionAdvisor(table, index,
+                                    transactionManager(beanFactory, table.attribute(index).getQualifier())));
+                        }
+                        break;
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static TransactionManager transactionManager(BeanFactory beanFactory, String qualifier) {
+        if (StringUtils.hasText(qualifier)) {
+            return BeanFactoryAnnotationUtils.qualifiedBeanOfType(beanFactory, TransactionManager.class, qualifier);
+        }
+        return beanFactory.getBean(TransactionManager.class);
+    }
+
+    private static class OrderedBeanFactoryPostProcessor implements BeanFactoryPostProcessor, Ordered {
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            AnnotationTransactionAttributeSource source = new AnnotationTransactionAttributeSource(false);
+            source.setEmbeddedValueResolver(new EmbeddedValueResolver(beanFactory));
+            TransactionAttributeTable table = TransactionAttributeTable.resolve(beanFactory, source);
+            beanFactory.registerSingleton(TABLE_BEAN_NAME, table);
+            log.info("트랜잭션 속성 표 methods={}", table.size());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
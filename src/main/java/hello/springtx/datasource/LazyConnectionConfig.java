@@ -0,0 +1,34 @@
+package hello.springtx.datasource;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * 주 DataSource(dataSource) 를 LazyConnectionDataSourceProxy 로 감싼다.
+ *
+ * <p>트랜잭션이 시작될 때는 프록시 커넥션만 받고 setAutoCommit(false) 같은 설정은 기록만 해둔다.
+ * 실제 풀 커넥션은 첫 SQL 을 실행할 때 꺼내고, SQL 을 하나도 실행하지 않은 트랜잭션은 commit / rollback 도 하지 않는다.
+ * replica 라우팅(springtx.datasource.replica.enabled)은 이미 같은 프록시를 쓰므로 다시 감싸지 않는다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.datasource.lazy-connection", name = "enabled", havingValue = "true")
+public class LazyConnectionConfig {
+
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package hello.springtx.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 읽기 전용 replica 설정 (springtx.datasource.replica.*), primary 는 spring.datasource.* 를 그대로 쓴다.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+    private String url;
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+}
@@ -0,0 +1,41 @@
+package hello.springtx.export;
+
+import jakarta.persistence.EntityManager;
+import java.util.function.Consumer;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+/**
+ * JPQL 결과를 forward-only 커서로 한 행씩 읽는다.
+ * 읽은 엔티티는 바로 준영속 상태로 만들어 영속성 컨텍스트가 커지지 않게 하고, 2차 캐시에도 넣지 않는다.
+ * 커서가 열려 있는 동안 트랜잭션이 필요하므로 호출하는 쪽이 트랜잭션(readOnly) 안에서 불러야 한다.
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    /**
+     * @return 읽은 행 수
+     */
+    public static <T> long forEach(EntityManager em, String jpql, Class<T> type, int fetchSize,
+                                   Consumer<? super T> action) {
+        Session session = em.unwrap(Session.class);
+        try (ScrollableResults<T> results = session.createSelectionQuery(jpql, type)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (results.next()) {
+                T entity = results.get();
+                session.detach(entity);
+                action.accept(entity);
+                count++;
+            }
+            return count;
+        }
+    }
+}
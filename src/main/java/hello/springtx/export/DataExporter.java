@@ -0,0 +1,54 @@
+package hello.springtx.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springtx.order.OrderRepository;
+import hello.springtx.propagation.LogRepository;
+import hello.springtx.propagation.MemberRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 / 로그 / 주문 전체를 파일로 내보낸다.
+ * 커서로 한 건씩 읽어 바로 파일 버퍼에 쓰므로 테이블 크기와 상관없이 메모리 사용량이 일정하다.
+ * 읽기는 각 저장소의 readOnly 트랜잭션 하나로 끝난다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataExporter {
+
+    private final MemberRepository memberRepository;
+    private final LogRepository logRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return 내보낸 건수
+     */
+    public long exportMembers(Path file, ExportFormat format) throws IOException {
+        try (ExportWriter writer = ExportWriter.open(file, format, objectMapper, "id", "name")) {
+            memberRepository.streamAll(member -> writer.write(member.getId(), member.getName()));
+            log.info("회원 내보내기 file={}, rows={}", file, writer.getRows());
+            return writer.getRows();
+        }
+    }
+
+    public long exportLogs(Path file, ExportFormat format) throws IOException {
+        try (ExportWriter writer = ExportWriter.open(file, format, objectMapper, "id", "message")) {
+            logRepository.streamAll(logMessage -> writer.write(logMessage.getId(), logMessage.getMessage()));
+            log.info("로그 내보내기 file={}, rows={}", file, writer.getRows());
+            return writer.getRows();
+        }
+    }
+
+    public long exportOrders(Path file, ExportFormat format) throws IOException {
+        try (ExportWriter writer = ExportWriter.open(file, format, objectMapper, "id", "userName", "payStatus")) {
+            orderRepository.streamAll(order -> writer.write(order.getId(), order.getUserName(), order.getPayStatus()));
+            log.info("주문 내보내기 file={}, rows={}", file, writer.getRows());
+            return writer.getRows();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package hello.springtx.export;
+
+/**
+ * 내보내기 파일 형식
+ */
+public enum ExportFormat {
+
+    /** 첫 줄이 헤더인 RFC 4180 CSV */
+    CSV,
+    /** 한 줄에 JSON 객체 하나 */
+    NDJSON
+}
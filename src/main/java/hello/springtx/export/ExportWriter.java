@@ -0,0 +1,148 @@
+package hello.springtx.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 행을 CSV 또는 NDJSON 으로 파일 채널에 쓴다. 행마다 문자열을 만들지 않고 버퍼에 바로 쓰며, 버퍼가 찰 때만 채널에 내려간다.
+ * 한 스레드에서만 쓴다.
+ */
+public final class ExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final String[] columns;
+    private final FileChannel channel;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long rows;
+
+    private ExportWriter(ExportFormat format, String[] columns, FileChannel channel, ObjectMapper objectMapper)
+            throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.channel = channel;
+        this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.NDJSON) {
+            this.json = objectMapper.getFactory().createGenerator(writer)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.json = null;
+            writeCsvRow(columns);
+        }
+    }
+
+    /**
+     * 파일을 새로 만들거나 비우고 연다.
+     */
+    public static ExportWriter open(Path file, ExportFormat format, ObjectMapper objectMapper, String... columns)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new ExportWriter(format, columns, channel, objectMapper);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * values 는 생성할 때 준 columns 순서를 따른다.
+     */
+    public void write(Object... values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("컬럼 수가 다르다: columns=" + columns.length + ", values=" + values.length);
+        }
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writeJsonRow(values);
+            } else {
+                writeCsvRow(values);
+            }
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private void writeJsonRow(Object[] values) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            json.writeFieldName(columns[i]);
+            Object value = values[i];
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Long number) {
+                json.writeNumber(number);
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private void writeCsvRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvField(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = (c == ',' || c == '"' || c == '\r' || c == '\n');
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel; writer) {
+            if (json != null) {
+                // 행 사이 구분자만 쓰므로 마지막 줄바꿈을 붙인다
+                if (rows > 0) {
+                    json.writeRaw('\n');
+                }
+                json.close();
+            }
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package hello.springtx.metrics;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * TransactionExecutionListener 가 보는 트랜잭션의 종류. 리스너는 전파 속성을 받지 못하므로 트랜잭션이 한 일로 나눈다.
+ * 참여한 REQUIRED 처럼 새로 시작하지 않은 트랜잭션은 리스너에 오지 않는다.
+ */
+public enum TransactionKind {
+
+    /** 바깥 트랜잭션 없이 시작한 물리 트랜잭션 */
+    NEW("new"),
+    /** 바깥 트랜잭션을 보류하고 시작한 물리 트랜잭션 (REQUIRES_NEW) */
+    SUSPENDING("suspending"),
+    /** 바깥 물리 트랜잭션 안의 savepoint (NESTED) */
+    SAVEPOINT("savepoint");
+
+    final String tag;
+
+    TransactionKind(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public boolean isPhysical() {
+        return this != SAVEPOINT;
+    }
+
+    public static TransactionKind of(TransactionExecution transaction) {
+        if (transaction.isNested() || !transaction.isNewTransaction()) {
+            return SAVEPOINT;
+        }
+        if (transaction instanceof DefaultTransactionStatus status && status.getSuspendedResources() != null) {
+            return SUSPENDING;
+        }
+        return NEW;
+    }
+}
@@ -0,0 +1,43 @@
+package hello.springtx.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+/**
+ * 컨테이너의 TransactionExecutionListener 빈(메트릭, TransactionTracer)을 모든 AbstractPlatformTransactionManager 에 붙인다.
+ * 스프링 부트는 자동 설정한 트랜잭션 매니저에만 리스너를 붙이므로 샤드 매니저처럼 직접 만든 매니저는 여기서 붙인다.
+ * 매니저 빈은 감싸지 않으므로 타입이 그대로다.
+ *
+ * <p>메트릭은 기본으로 켜져 있고 springtx.tx.metrics.enabled=false 로 끈다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TransactionMetricsConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "springtx.tx.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TransactionMetricsListener transactionMetricsListener(MeterRegistry meterRegistry) {
+        return new TransactionMetricsListener(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor transactionExecutionListenerPostProcessor(
+            ObjectProvider<TransactionExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractPlatformTransactionManager transactionManager) {
+                    listeners.orderedStream()
+                            .filter(listener -> !transactionManager.getTransactionExecutionListeners().contains(listener))
+                            .forEach(transactionManager::addListener);
+                }
+                return bean;
+            }
+        };
+    }
+}
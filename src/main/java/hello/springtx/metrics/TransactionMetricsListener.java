@@ -0,0 +1,210 @@
+package hello.springtx.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * 트랜잭션 매니저의 TransactionExecutionListener 로 트랜잭션 메트릭을 남긴다.
+ * 매니저 빈을 감싸지 않으므로 JpaTransactionManager 같은 원래 타입이 그대로 보인다.
+ *
+ * <ul>
+ *     <li>springtx.transaction : 물리 트랜잭션과 savepoint 의 시작부터 끝까지 시간 (method, kind, readOnly, outcome).
+ *     물리 트랜잭션의 시간은 커넥션 점유 시간이다.</li>
+ *     <li>springtx.transaction.active : 진행 중인 물리 트랜잭션 수</li>
+ *     <li>springtx.transaction.suspended : REQUIRES_NEW 로 보류된 트랜잭션 수</li>
+ * </ul>
+ * 리스너는 새로 시작한 트랜잭션만 보므로 참여한 REQUIRED 나 트랜잭션 없이 실행한 SUPPORTS / NOT_SUPPORTED 는 남지 않는다.
+ * kind 는 TransactionKind, outcome 은 TransactionOutcome 참고.
+ *
+ * <p>Timer 는 메서드 이름별 배열에 (kind, readOnly, outcome) 칸으로 한 번만 등록해 두므로
+ * 트랜잭션이 끝날 때 키 객체를 만들지 않고 맵 조회 한 번과 배열 읽기로 찾는다.
+ * 시작 시각은 스레드별 배열 스택에 둔다.
+ */
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+    public static final String TIMER_NAME = "springtx.transaction";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, MethodTimers> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<StartStack> starts = ThreadLocal.withInitial(StartStack::new);
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger suspended = new AtomicInteger();
+
+    public TransactionMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("springtx.transaction.active", active, AtomicInteger::get)
+                .description("진행 중인 물리 트랜잭션 수")
+                .register(registry);
+        Gauge.builder("springtx.transaction.suspended", suspended, AtomicInteger::get)
+                .description("보류된 트랜잭션 수")
+                .register(registry);
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        TransactionKind kind = TransactionKind.of(transaction);
+        if (kind.isPhysical()) {
+            active.incrementAndGet();
+        }
+        if (kind == TransactionKind.SUSPENDING) {
+            suspended.incrementAndGet();
+        }
+        starts.get().push(transaction, kind, System.nanoTime());
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null) {
+            complete(transaction, TransactionOutcome.ERROR);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        complete(transaction, TransactionOutcome.ofCommit(commitFailure));
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        StartStack stack = starts.get();
+        int index = stack.indexOf(transaction);
+        if (index >= 0) {
+            stack.commitRequested[index] = true;
+        }
+    }
+
+    @Override
+    public void beforeRollback(TransactionExecution transaction) {
+        if (transaction.isRollbackOnly()) {
+            StartStack stack = starts.get();
+            int index = stack.indexOf(transaction);
+            if (index >= 0) {
+                stack.rollbackOnly[index] = true;
+            }
+        }
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        StartStack stack = starts.get();
+        int index = stack.indexOf(transaction);
+        boolean commitRequested = (index >= 0 && stack.commitRequested[index]);
+        boolean rollbackOnly = (index >= 0 && stack.rollbackOnly[index]);
+        complete(transaction, TransactionOutcome.ofRollback(commitRequested, rollbackOnly, rollbackFailure));
+    }
+
+    private void complete(TransactionExecution transaction, TransactionOutcome outcome) {
+        StartStack stack = starts.get();
+        int index = stack.indexOf(transaction);
+        if (index < 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.startNanos[index];
+        TransactionKind kind = stack.kinds[index];
+        stack.popTo(index);
+        if (kind.isPhysical()) {
+            active.decrementAndGet();
+        }
+        if (kind == TransactionKind.SUSPENDING) {
+            suspended.decrementAndGet();
+        }
+
+        String method = methodName(transaction);
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, MethodTimers::new);
+        }
+        methodTimers.timer(kind, transaction.isReadOnly(), outcome).record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private static String methodName(TransactionExecution transaction) {
+        String name = transaction.getTransactionName();
+        return (name.isEmpty() ? "unnamed" : name);
+    }
+
+    /**
+     * 한 스레드에서 진행 중인 트랜잭션의 시작 시각. 트랜잭션은 안쪽부터 끝나므로 보통 맨 위를 꺼내고,
+     * 끝 알림을 못 받은 항목이 남아 있으면 찾은 항목 위의 것까지 함께 버린다.
+     */
+    private static final class StartStack {
+
+        private TransactionExecution[] transactions = new TransactionExecution[4];
+        private TransactionKind[] kinds = new TransactionKind[4];
+        private long[] startNanos = new long[4];
+        private boolean[] commitRequested = new boolean[4];
+        private boolean[] rollbackOnly = new boolean[4];
+        private int size;
+
+        void push(TransactionExecution transaction, TransactionKind kind, long start) {
+            if (size == transactions.length) {
+                transactions = Arrays.copyOf(transactions, size * 2);
+                kinds = Arrays.copyOf(kinds, size * 2);
+                startNanos = Arrays.copyOf(startNanos, size * 2);
+                commitRequested = Arrays.copyOf(commitRequested, size * 2);
+                rollbackOnly = Arrays.copyOf(rollbackOnly, size * 2);
+            }
+            transactions[size] = transaction;
+            kinds[size] = kind;
+            startNanos[size] = start;
+            commitRequested[size] = false;
+            rollbackOnly[size] = false;
+            size++;
+        }
+
+        int indexOf(TransactionExecution transaction) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (transactions[i] == transaction) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void popTo(int index) {
+            Arrays.fill(transactions, index, size, null);
+            size = index;
+        }
+    }
+
+    /**
+     * 메서드 하나의 Timer 들. 칸 번호는 (kind, readOnly, outcome) 순서로 매긴다.
+     */
+    private final class MethodTimers {
+
+        private static final int KINDS = TransactionKind.values().length;
+        private static final int OUTCOMES = TransactionOutcome.values().length;
+
+        private final String method;
+        private final AtomicReferenceArray<Timer> slots = new AtomicReferenceArray<>(KINDS * 2 * OUTCOMES);
+
+        MethodTimers(String method) {
+            this.method = method;
+        }
+
+        Timer timer(TransactionKind kind, boolean readOnly, TransactionOutcome outcome) {
+            int index = (kind.ordinal() * 2 + (readOnly ? 1 : 0)) * OUTCOMES + outcome.ordinal();
+            Timer timer = slots.get(index);
+            if (timer == null) {
+                // 같은 id 로 다시 등록하면 레지스트리가 기존 Timer 를 돌려주므로 경쟁해도 Timer 는 하나다
+                timer = Timer.builder(TIMER_NAME)
+                        .tag("method", method)
+                        .tag("kind", kind.getTag())
+                        .tag("readOnly", String.valueOf(readOnly))
+                        .tag("outcome", outcome.getTag())
+                        .register(registry);
+                slots.set(index, timer);
+            }
+            return timer;
+        }
+    }
+}
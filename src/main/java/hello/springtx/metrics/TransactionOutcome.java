@@ -0,0 +1,45 @@
+package hello.springtx.metrics;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * 트랜잭션이 끝난 결과.
+ *
+ * <p>rollback_only 는 직접 setRollbackOnly 한 뒤 롤백된 경우다.
+ * unexpected_rollback 은 commit 을 요청했지만 참여한 트랜잭션이 rollback-only 로 표시해 두어 롤백된 경우로,
+ * 리스너에는 beforeCommit 뒤에 afterRollback 이 오는 것으로 보인다. 호출한 쪽은 UnexpectedRollbackException 을 받는다.
+ */
+public enum TransactionOutcome {
+
+    COMMIT("commit"), ROLLBACK("rollback"), ROLLBACK_ONLY("rollback_only"), UNEXPECTED_ROLLBACK("unexpected_rollback"),
+    ERROR("error");
+
+    final String tag;
+
+    TransactionOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public static TransactionOutcome ofCommit(@Nullable Throwable commitFailure) {
+        return (commitFailure == null ? COMMIT : ERROR);
+    }
+
+    /**
+     * @param commitRequested beforeCommit 을 받은 뒤의 롤백인지
+     * @param rollbackOnly beforeRollback 에서 읽은 TransactionExecution.isRollbackOnly
+     */
+    public static TransactionOutcome ofRollback(boolean commitRequested, boolean rollbackOnly,
+                                                @Nullable Throwable rollbackFailure) {
+        if (rollbackFailure != null) {
+            return ERROR;
+        }
+        if (commitRequested) {
+            return UNEXPECTED_ROLLBACK;
+        }
+        return (rollbackOnly ? ROLLBACK_ONLY : ROLLBACK);
+    }
+}
@@ -0,0 +1,48 @@
+package hello.springtx.order;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문을 orderTaskExecutor 에서 실행한다. 플랫폼 스레드 풀 또는 가상 스레드(Java 21, spring.threads.virtual.enabled=true).
+ *
+ * <p>트랜잭션은 스레드에 묶이므로 각 주문은 작업 스레드 안에서 OrderService.order 의 트랜잭션을 새로 시작한다.
+ * 호출한 스레드의 트랜잭션에는 참여하지 않는다.
+ *
+ * <p>가상 스레드는 수만 개가 동시에 떠도 커넥션 풀은 그대로이므로, 커넥션 수만큼만 세마포어로 들여보낸다.
+ * 세마포어(AQS)는 대기 중에 캐리어 스레드를 붙잡지 않아서 synchronized 기반 대기보다 pinning 에 안전하다.
+ *
+ * <p>세마포어를 통과한 뒤의 pinning 은 막지 못한다. JDK 21 ~ 23 에서는 H2 드라이버와 Hibernate 의 synchronized 안에서
+ * I/O 로 멈춘 가상 스레드가 캐리어를 붙잡으므로, 동시에 붙잡히는 캐리어는 최대 maxConcurrentTransactions 개다.
+ * 캐리어 수(CPU 코어 수)보다 작게 두어야 다른 가상 스레드가 굶지 않는다. JDK 24(JEP 491)부터는 synchronized 도 pinning 하지 않는다.
+ */
+@Slf4j
+public class AsyncOrderService {
+
+    private final OrderService orderService;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    public AsyncOrderService(OrderService orderService, Executor executor, int maxConcurrentTransactions) {
+        this.orderService = orderService;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentTransactions, true);
+    }
+
+    public CompletableFuture<Order> order(Order order) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                orderService.order(order);
+                return order;
+            } catch (NotEnoughMoneyException e) {
+                throw new CompletionException(e);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+}
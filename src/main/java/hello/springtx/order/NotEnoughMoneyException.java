@@ -1,6 +1,13 @@
 package hello.springtx.order;
 
-public class NotEnoughMoneyException extends Exception {
+import hello.springtx.rollback.BusinessException;
+import hello.springtx.rollback.Stackless;
+
+/**
+ * 잔고 부족. 주문 흐름에서 자주 던지고 대기 주문으로 커밋하므로 스택 트레이스를 채우지 않는다.
+ */
+@Stackless
+public class NotEnoughMoneyException extends BusinessException {
     public NotEnoughMoneyException(String message) {
         super(message);
     }
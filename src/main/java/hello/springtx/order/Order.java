@@ -1,21 +1,34 @@
 package hello.springtx.order;
 
+import hello.springtx.IdAllocation;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "orders")
+@DynamicUpdate
+@Table(name = "orders", indexes = @Index(name = "idx_orders_pay_status_id", columnList = "pay_status, id"))
+@SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq",
+        allocationSize = IdAllocation.ALLOCATION_SIZE)
 @Getter @Setter
 public class Order {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
     private Long id;
 
     private String userName;
-    private String payStatus;
+
+    @Column(name = "pay_status")
+    @Convert(converter = PayStatusConverter.class)
+    private PayStatus payStatus;
 }
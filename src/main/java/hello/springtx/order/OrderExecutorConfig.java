@@ -0,0 +1,42 @@
+package hello.springtx.order;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class OrderExecutorConfig {
+
+    @Value("${springtx.order.max-concurrent-transactions:10}")
+    private int maxConcurrentTransactions;
+
+    @Bean
+    public AsyncOrderService asyncOrderService(OrderService orderService,
+                                               @Qualifier("orderTaskExecutor") AsyncTaskExecutor orderTaskExecutor) {
+        return new AsyncOrderService(orderService, orderTaskExecutor, maxConcurrentTransactions);
+    }
+
+    @Bean(name = "orderTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualOrderTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("order-vt-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean(name = "orderTaskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor platformOrderTaskExecutor(@Value("${springtx.order.platform-threads:200}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("order-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        return executor;
+    }
+}
@@ -0,0 +1,14 @@
+package hello.springtx.order;
+
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * keyset 페이지. nextToken 을 다음 호출에 넘기면 이어서 읽는다. 마지막 페이지면 nextToken 은 null 이다.
+ */
+public record OrderPage<T>(List<T> content, @Nullable String nextToken) {
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
@@ -0,0 +1,25 @@
+package hello.springtx.order;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * 결제 상태별 주문 목록을 keyset(seek) 방식으로 읽는 OrderRepository 조각.
+ * (pay_status, id) 인덱스를 따라 마지막으로 읽은 ID 다음부터 size 건만 읽으므로 몇 번째 페이지든 비용이 같다.
+ *
+ * <p>OrderRepository 프록시는 예외 변환을 거치므로 구현이 던진 IllegalArgumentException 은
+ * 호출자에게 InvalidDataAccessApiUsageException(원인은 IllegalArgumentException)으로 전달된다.
+ */
+public interface OrderPageRepository {
+
+    /**
+     * @param token 이전 페이지의 nextToken, 첫 페이지면 null
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException 토큰이 잘못되었거나 다른 결제 상태의 토큰,
+     *         또는 size 가 범위를 벗어났을 때
+     */
+    OrderPage<Order> findByPayStatus(PayStatus payStatus, @Nullable String token, int size);
+
+    /**
+     * findByPayStatus 와 같지만 id, userName, payStatus 만 읽는다.
+     */
+    OrderPage<OrderSummary> findSummariesByPayStatus(PayStatus payStatus, @Nullable String token, int size);
+}
@@ -0,0 +1,66 @@
+package hello.springtx.order;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+class OrderPageRepositoryImpl implements OrderPageRepository {
+
+    private static final int MAX_PAGE_SIZE = 1_000;
+
+    private final EntityManager em;
+
+    OrderPageRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage<Order> findByPayStatus(PayStatus payStatus, @Nullable String token, int size) {
+        List<Order> rows = em.createQuery(
+                        "select o from Order o where o.payStatus = :payStatus and o.id > :afterId order by o.id",
+                        Order.class)
+                .setParameter("payStatus", payStatus)
+                .setParameter("afterId", OrderPageToken.decode(payStatus, token))
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .setMaxResults(checkSize(size) + 1)
+                .getResultList();
+        return page(payStatus, rows, size, Order::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage<OrderSummary> findSummariesByPayStatus(PayStatus payStatus, @Nullable String token, int size) {
+        List<OrderSummary> rows = em.createQuery(
+                        "select new hello.springtx.order.OrderSummary(o.id, o.userName, o.payStatus) from Order o"
+                                + " where o.payStatus = :payStatus and o.id > :afterId order by o.id",
+                        OrderSummary.class)
+                .setParameter("payStatus", payStatus)
+                .setParameter("afterId", OrderPageToken.decode(payStatus, token))
+                .setMaxResults(checkSize(size) + 1)
+                .getResultList();
+        return page(payStatus, rows, size, OrderSummary::id);
+    }
+
+    /**
+     * size + 1 건을 읽어서 다음 페이지가 있는지 본다. 있으면 마지막 행은 버리고 그 앞 행의 ID 로 토큰을 만든다.
+     */
+    private static <T> OrderPage<T> page(PayStatus payStatus, List<T> rows, int size, ToLongFunction<T> id) {
+        if (rows.size() <= size) {
+            return new OrderPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new OrderPage<>(List.copyOf(content),
+                OrderPageToken.encode(payStatus, id.applyAsLong(content.get(size - 1))));
+    }
+
+    private static int checkSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 ~ " + MAX_PAGE_SIZE + " 이어야 한다: " + size);
+        }
+        return size;
+    }
+}
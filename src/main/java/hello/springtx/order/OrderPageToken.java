@@ -0,0 +1,43 @@
+package hello.springtx.order;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.lang.Nullable;
+
+/**
+ * keyset 페이지 이어 읽기 토큰. "결제 상태 코드:마지막 ID" 를 URL-safe Base64 로 감싼다.
+ */
+final class OrderPageToken {
+
+    private OrderPageToken() {
+    }
+
+    static String encode(PayStatus payStatus, long lastId) {
+        String raw = payStatus.getCode() + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return 이어 읽을 기준 ID, token 이 null 이면 처음부터 읽도록 Long.MIN_VALUE
+     */
+    static long decode(PayStatus payStatus, @Nullable String token) {
+        if (token == null) {
+            return Long.MIN_VALUE;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 페이지 토큰: " + token, e);
+        }
+        int separator = raw.indexOf(':');
+        if (separator != 1 || raw.charAt(0) != payStatus.getCode()) {
+            throw new IllegalArgumentException("결제 상태 " + payStatus + " 의 페이지 토큰이 아니다: " + token);
+        }
+        try {
+            return Long.parseLong(raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 페이지 토큰: " + token, e);
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package hello.springtx.order;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderStreamRepository, OrderPageRepository {
+
+    /**
+     * offset 페이징. 뒤 페이지일수록 앞의 행을 모두 건너뛰어야 하므로 느려진다. 보통은 findByPayStatus(status, token, size) 를 쓴다.
+     */
+    Slice<Order> findByPayStatusOrderById(PayStatus payStatus, Pageable pageable);
 }
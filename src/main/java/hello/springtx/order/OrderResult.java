@@ -0,0 +1,28 @@
+package hello.springtx.order;
+
+/**
+ * orderAll 의 주문별 처리 결과
+ */
+public record OrderResult(Order order, Outcome outcome, String message) {
+
+    public enum Outcome {
+        /** 정상 승인, 커밋 */
+        COMPLETED,
+        /** 잔고 부족 비즈니스 예외, 대기 상태로 커밋 */
+        PENDING,
+        /** 시스템 예외, 해당 주문만 저장하지 않음 */
+        FAILED
+    }
+
+    static OrderResult completed(Order order) {
+        return new OrderResult(order, Outcome.COMPLETED, null);
+    }
+
+    static OrderResult pending(Order order, NotEnoughMoneyException e) {
+        return new OrderResult(order, Outcome.PENDING, e.getMessage());
+    }
+
+    static OrderResult failed(Order order, RuntimeException e) {
+        return new OrderResult(order, Outcome.FAILED, e.getMessage());
+    }
+}
@@ -1,9 +1,19 @@
 package hello.springtx.order;
 
+import hello.springtx.order.payment.PaymentDecider;
+import hello.springtx.order.retry.PendingPayment;
+import hello.springtx.order.status.OrderStatusTransitions;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Slf4j
@@ -11,24 +21,112 @@ import org.springframework.transaction.annotation.Transactional;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final EntityManager em;
+    private final PaymentDecider paymentDecider;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderStatusTransitions statusTransitions;
+
+    @Value("${springtx.order.bulk.chunk-size:1000}")
+    private int chunkSize;
 
     @Transactional
     public void order(Order order) throws NotEnoughMoneyException {
         log.info("Order 호출");
         orderRepository.save(order);
+        try {
+            pay(order);
+        } catch (NotEnoughMoneyException e) {
+            em.persist(new PendingPayment(order.getId(), Instant.now()));
+            throw e;
+        }
+    }
 
-        log.info("결제 프로세스 시작");
-        if (order.getUserName().equals("예외")) {
-            log.info("시스템 예외 발생");
-            throw new RuntimeException("시스템 예외");
-        } else if (order.getUserName().equals("잔고 부족")) {
-            log.info("잔고 부족 비즈니스 예외 발생");
-            order.setPayStatus("대기");
-            throw new NotEnoughMoneyException("잔고가 부족합니다.");
+    /**
+     * 주문을 chunkSize 씩 묶어 chunk 하나를 물리 트랜잭션 하나로 처리한다.
+     *
+     * <p>주문별 규칙은 order 와 같다. 잔고 부족(체크 예외)은 대기 상태로 커밋하고, 시스템 예외(런타임 예외)는 그 주문만 롤백한다.
+     * 결제 결과를 먼저 정하고 나서 persist 하므로 실패한 주문은 영속성 컨텍스트에 들어가지 않고,
+     * 나머지 주문은 chunk 끝의 flush 한 번에 JDBC 배치 insert 로 나간다.
+     * chunk 커밋이 DB 오류로 실패하면 그 chunk 만 주문 단위 트랜잭션으로 다시 처리해 문제 주문을 격리한다.
+     * chunk 마다 트랜잭션을 새로 열어야 하므로 바깥 트랜잭션 안에서는 호출할 수 없다.
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public List<OrderResult> orderAll(List<Order> orders) {
+        log.info("Order 일괄 호출 size={}", orders.size());
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        for (int from = 0; from < orders.size(); from += chunkSize) {
+            List<Order> chunk = orders.subList(from, Math.min(from + chunkSize, orders.size()));
+            results.addAll(orderChunk(chunk));
+        }
+        return results;
+    }
+
+    private List<OrderResult> orderChunk(List<Order> chunk) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<OrderResult> results = new ArrayList<>(chunk.size());
+                for (Order order : chunk) {
+                    results.add(payAndPersist(order));
+                }
+                em.flush();
+                em.clear();
+                return results;
+            });
+        } catch (RuntimeException e) {
+            log.warn("주문 chunk 저장 실패, 주문 단위로 재처리 size={}", chunk.size(), e);
+            List<OrderResult> results = new ArrayList<>(chunk.size());
+            for (Order order : chunk) {
+                results.add(orderOne(order));
+            }
+            return results;
+        }
+    }
+
+    private OrderResult orderOne(Order order) {
+        order.setId(null);
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderResult result = payAndPersist(order);
+                em.flush();
+                return result;
+            });
+        } catch (RuntimeException e) {
+            log.warn("주문 저장 실패 userName={}", order.getUserName(), e);
+            return OrderResult.failed(order, e);
+        }
+    }
+
+    private OrderResult payAndPersist(Order order) {
+        try {
+            pay(order);
+            em.persist(order);
+            return OrderResult.completed(order);
+        } catch (NotEnoughMoneyException e) {
+            em.persist(order);
+            em.persist(new PendingPayment(order.getId(), Instant.now()));
+            return OrderResult.pending(order, e);
+        } catch (RuntimeException e) {
+            return OrderResult.failed(order, e);
         }
+    }
 
-        log.info("정상 승인");
-        order.setPayStatus("결제 완료");
+    private void pay(Order order) throws NotEnoughMoneyException {
+        log.info("결제 프로세스 시작");
+        switch (paymentDecider.decide(order)) {
+            case SYSTEM_ERROR -> {
+                log.info("시스템 예외 발생");
+                throw new RuntimeException("시스템 예외");
+            }
+            case NOT_ENOUGH_MONEY -> {
+                log.info("잔고 부족 비즈니스 예외 발생");
+                statusTransitions.transition(order, PayStatus.WAITING);
+                throw new NotEnoughMoneyException("잔고가 부족합니다.");
+            }
+            case APPROVE -> {
+                log.info("정상 승인");
+                statusTransitions.transition(order, PayStatus.COMPLETE);
+            }
+        }
         log.info("결제 프로세스 종료");
     }
 }
@@ -0,0 +1,16 @@
+package hello.springtx.order;
+
+import java.util.function.Consumer;
+
+/**
+ * findAll 처럼 전체를 메모리에 올리지 않고 커서로 읽는 OrderRepository 조각
+ */
+public interface OrderStreamRepository {
+
+    /**
+     * 전체 주문을 ID 순서로 한 건씩 action 에 넘긴다. 넘긴 엔티티는 준영속 상태다.
+     *
+     * @return 읽은 건수
+     */
+    long streamAll(Consumer<? super Order> action);
+}
@@ -0,0 +1,24 @@
+package hello.springtx.order;
+
+import hello.springtx.export.Cursors;
+import jakarta.persistence.EntityManager;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+class OrderStreamRepositoryImpl implements OrderStreamRepository {
+
+    private final EntityManager em;
+    private final int fetchSize;
+
+    OrderStreamRepositoryImpl(EntityManager em, @Value("${springtx.export.fetch-size:1000}") int fetchSize) {
+        this.em = em;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<? super Order> action) {
+        return Cursors.forEach(em, "select o from Order o order by o.id", Order.class, fetchSize, action);
+    }
+}
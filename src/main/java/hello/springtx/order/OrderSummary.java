@@ -0,0 +1,7 @@
+package hello.springtx.order;
+
+/**
+ * 목록 조회용 주문 projection. 엔티티를 만들지 않고 필요한 컬럼만 읽는다.
+ */
+public record OrderSummary(Long id, String userName, PayStatus payStatus) {
+}
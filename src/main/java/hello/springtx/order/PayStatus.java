@@ -0,0 +1,31 @@
+package hello.springtx.order;
+
+import lombok.Getter;
+
+/**
+ * 결제 상태. DB 에는 한 글자 코드로 저장한다 (PayStatusConverter).
+ */
+@Getter
+public enum PayStatus {
+
+    WAITING('W', "대기"),
+    COMPLETE('C', "결제 완료"),
+    CANCELED('X', "결제 취소");
+
+    private final char code;
+    private final String description;
+
+    PayStatus(char code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    public static PayStatus ofCode(char code) {
+        return switch (code) {
+            case 'W' -> WAITING;
+            case 'C' -> COMPLETE;
+            case 'X' -> CANCELED;
+            default -> throw new IllegalArgumentException("알 수 없는 결제 상태 코드: " + code);
+        };
+    }
+}
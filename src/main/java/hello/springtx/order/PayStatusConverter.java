@@ -0,0 +1,18 @@
+package hello.springtx.order;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class PayStatusConverter implements AttributeConverter<PayStatus, Character> {
+
+    @Override
+    public Character convertToDatabaseColumn(PayStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public PayStatus convertToEntityAttribute(Character code) {
+        return code == null ? null : PayStatus.ofCode(code);
+    }
+}
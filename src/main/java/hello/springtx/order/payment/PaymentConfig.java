@@ -0,0 +1,17 @@
+package hello.springtx.order.payment;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PaymentRuleProperties.class)
+public class PaymentConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(PaymentDecider.class)
+    public PaymentDecider paymentDecider(PaymentRuleProperties properties) {
+        return new RuleBasedPaymentDecider(properties.getRules(), properties.getDefaultDecision());
+    }
+}
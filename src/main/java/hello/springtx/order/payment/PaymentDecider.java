@@ -0,0 +1,12 @@
+package hello.springtx.order.payment;
+
+import hello.springtx.order.Order;
+
+/**
+ * 주문의 결제 결과를 정한다. 다른 구현을 빈으로 등록하면 기본 RuleBasedPaymentDecider 대신 쓰인다.
+ * 주문마다 호출되므로 구현은 상태 없이, 가능하면 할당 없이 동작해야 한다.
+ */
+public interface PaymentDecider {
+
+    PaymentDecision decide(Order order);
+}
@@ -0,0 +1,10 @@
+package hello.springtx.order.payment;
+
+public enum PaymentDecision {
+    /** 정상 승인 */
+    APPROVE,
+    /** 잔고 부족 비즈니스 예외 */
+    NOT_ENOUGH_MONEY,
+    /** 시스템 예외 */
+    SYSTEM_ERROR
+}
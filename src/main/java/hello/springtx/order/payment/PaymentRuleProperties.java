@@ -0,0 +1,21 @@
+package hello.springtx.order.payment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 결제 규칙 (springtx.payment.*). 기본값은 기존 OrderService 의 규칙과 같다.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.payment")
+public class PaymentRuleProperties {
+
+    private Map<String, PaymentDecision> rules = new LinkedHashMap<>(Map.of(
+            "예외", PaymentDecision.SYSTEM_ERROR,
+            "잔고 부족", PaymentDecision.NOT_ENOUGH_MONEY));
+
+    private PaymentDecision defaultDecision = PaymentDecision.APPROVE;
+}
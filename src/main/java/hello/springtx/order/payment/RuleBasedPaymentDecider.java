@@ -0,0 +1,28 @@
+package hello.springtx.order.payment;
+
+import hello.springtx.order.Order;
+import java.util.Map;
+
+/**
+ * userName 에 대한 규칙을 시작 시점에 한 번 불변 맵으로 만들어 두고 주문마다 조회만 한다.
+ * String 의 hashCode 는 캐시되므로 조회 중 할당이 없다.
+ */
+public class RuleBasedPaymentDecider implements PaymentDecider {
+
+    private final Map<String, PaymentDecision> rules;
+    private final PaymentDecision defaultDecision;
+
+    public RuleBasedPaymentDecider(Map<String, PaymentDecision> rules, PaymentDecision defaultDecision) {
+        this.rules = Map.copyOf(rules);
+        this.defaultDecision = defaultDecision;
+    }
+
+    @Override
+    public PaymentDecision decide(Order order) {
+        String userName = order.getUserName();
+        if (userName == null) {
+            return defaultDecision;
+        }
+        return rules.getOrDefault(userName, defaultDecision);
+    }
+}
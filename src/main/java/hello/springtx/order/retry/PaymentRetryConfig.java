@@ -0,0 +1,54 @@
+package hello.springtx.order.retry;
+
+import hello.springtx.order.payment.PaymentDecider;
+import hello.springtx.order.status.OrderStatusTransitions;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(PaymentRetryProperties.class)
+public class PaymentRetryConfig {
+
+    /**
+     * 주문할 때의 결정을 그대로 다시 쓴다. 결과가 바뀔 수 있는 구현을 빈으로 등록하면 물러난다.
+     */
+    @Bean
+    @ConditionalOnMissingBean(RetryPaymentDecider.class)
+    public RetryPaymentDecider retryPaymentDecider(PaymentDecider paymentDecider) {
+        return (order, attempt) -> paymentDecider.decide(order);
+    }
+
+    @Bean
+    public PendingPaymentRetrier pendingPaymentRetrier(JdbcTemplate jdbcTemplate,
+                                                       EntityManager em,
+                                                       TransactionTemplate transactionTemplate,
+                                                       RetryPaymentDecider paymentDecider,
+                                                       PaymentRetryProperties properties,
+                                                       OrderStatusTransitions statusTransitions) {
+        return new PendingPaymentRetrier(jdbcTemplate, em, transactionTemplate, paymentDecider, properties,
+                statusTransitions);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(prefix = "springtx.payment.retry", name = "enabled", havingValue = "true")
+    static class Scheduler {
+
+        private final PendingPaymentRetrier pendingPaymentRetrier;
+
+        @Scheduled(fixedDelayString = "${springtx.payment.retry.poll-interval:1s}")
+        public void retry() {
+            pendingPaymentRetrier.retryAll();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package hello.springtx.order.retry;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 대기 주문 재시도 설정 (springtx.payment.retry.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.payment.retry")
+public class PaymentRetryProperties {
+
+    /** 스케줄러 실행 여부, 꺼져 있어도 PendingPaymentRetrier.retryBatch 는 직접 호출할 수 있다 */
+    private boolean enabled = false;
+
+    /** 한 트랜잭션에서 선점(skip locked)할 대기 주문 수 */
+    private int batchSize = 100;
+
+    /** 이 횟수만큼 실패하면 결제 취소로 끝낸다 */
+    private int maxAttempts = 5;
+
+    /** 첫 재시도 간격, 실패할 때마다 두 배 */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+}
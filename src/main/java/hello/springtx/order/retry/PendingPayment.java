@@ -0,0 +1,35 @@
+package hello.springtx.order.retry;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.Getter;
+
+/**
+ * 잔고 부족으로 대기 상태가 된 주문의 재시도 대기열. 주문과 같은 트랜잭션에서 저장된다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_pending_payment_next_attempt", columnList = "nextAttemptAt"))
+@Getter
+public class PendingPayment {
+
+    @Id
+    private Long orderId;
+    private int attempts;
+    private Instant nextAttemptAt;
+
+    protected PendingPayment() {}
+
+    public PendingPayment(Long orderId, Instant nextAttemptAt) {
+        this.orderId = orderId;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void retryLater(Instant now, Duration backoff) {
+        attempts++;
+        nextAttemptAt = now.plus(backoff);
+    }
+}
@@ -0,0 +1,97 @@
+package hello.springtx.order.retry;
+
+import hello.springtx.order.Order;
+import hello.springtx.order.PayStatus;
+import hello.springtx.order.payment.PaymentDecision;
+import hello.springtx.order.status.OrderStatusTransitions;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 대기 주문을 배치 단위로 선점해서 결제를 다시 시도한다.
+ *
+ * <p>선점은 select ... for update skip locked 이므로 여러 노드가 동시에 돌려도 서로 다른 주문을 가져간다.
+ * 선점한 행의 락은 배치 트랜잭션이 커밋될 때 풀린다.
+ * 승인되면 결제 완료, maxAttempts 만큼 실패하면 결제 취소로 끝내고 대기열에서 지운다.
+ * 결제 결과는 RetryPaymentDecider 가 정한다. 기본 구현으로는 재시도 결과가 바뀌지 않는다(RetryPaymentDecider 참고).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PendingPaymentRetrier {
+
+    private static final String CLAIM_SQL = "select order_id from pending_payment where next_attempt_at <= ?"
+            + " order by next_attempt_at limit ? for update skip locked";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryPaymentDecider paymentDecider;
+    private final PaymentRetryProperties properties;
+    private final OrderStatusTransitions statusTransitions;
+
+    /**
+     * @return 처리한 대기 주문 수
+     */
+    public int retryBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<Long> orderIds = jdbcTemplate.queryForList(CLAIM_SQL, Long.class,
+                    OffsetDateTime.ofInstant(now, ZoneOffset.UTC), properties.getBatchSize());
+            for (Long orderId : orderIds) {
+                retry(orderId, now);
+            }
+            return orderIds.size();
+        });
+        return processed == null ? 0 : processed;
+    }
+
+    /**
+     * 남은 대기 주문이 batchSize 보다 적어질 때까지 반복한다.
+     */
+    public int retryAll() {
+        int total = 0;
+        int processed;
+        do {
+            processed = retryBatch();
+            total += processed;
+        } while (processed == properties.getBatchSize());
+        return total;
+    }
+
+    private void retry(Long orderId, Instant now) {
+        PendingPayment pending = em.find(PendingPayment.class, orderId);
+        Order order = em.find(Order.class, orderId);
+        if (order == null) {
+            em.remove(pending);
+            return;
+        }
+
+        PaymentDecision decision = paymentDecider.decide(order, pending.getAttempts() + 1);
+        if (decision == PaymentDecision.APPROVE) {
+            log.info("대기 주문 결제 완료 orderId={}", orderId);
+            statusTransitions.transition(order, PayStatus.COMPLETE);
+            em.remove(pending);
+            return;
+        }
+
+        pending.retryLater(now, backoff(pending.getAttempts() + 1));
+        if (pending.getAttempts() >= properties.getMaxAttempts()) {
+            log.info("대기 주문 결제 취소 orderId={} attempts={}", orderId, pending.getAttempts());
+            statusTransitions.transition(order, PayStatus.CANCELED);
+            em.remove(pending);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
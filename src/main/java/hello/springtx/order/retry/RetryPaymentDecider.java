@@ -0,0 +1,16 @@
+package hello.springtx.order.retry;
+
+import hello.springtx.order.Order;
+import hello.springtx.order.payment.PaymentDecision;
+
+/**
+ * 대기 주문을 다시 결제할 때의 결과를 정한다. attempt 는 이번이 몇 번째 재시도인지(1 부터)다.
+ *
+ * <p>기본 구현은 주문할 때와 같은 PaymentDecider 를 다시 부른다. 기본 RuleBasedPaymentDecider 는 사용자 이름만 보므로
+ * 결과가 바뀌지 않고, 대기 주문은 maxAttempts 뒤에 모두 결제 취소가 된다.
+ * 잔고 조회나 결제 게이트웨이처럼 결과가 바뀔 수 있는 구현을 빈으로 등록하면 그것을 쓴다.
+ */
+public interface RetryPaymentDecider {
+
+    PaymentDecision decide(Order order, int attempt);
+}
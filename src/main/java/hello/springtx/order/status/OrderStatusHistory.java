@@ -0,0 +1,49 @@
+package hello.springtx.order.status;
+
+import hello.springtx.IdAllocation;
+import hello.springtx.order.PayStatus;
+import hello.springtx.order.PayStatusConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+
+/**
+ * 주문 결제 상태 변경 이력. 추가만 하고 고치지 않는다.
+ * 행은 OrderStatusTransitions 가 JDBC 배치로 넣으므로 이 엔티티는 스키마와 조회용이다.
+ */
+@Entity
+@Table(name = "order_status_history",
+        indexes = @Index(name = "idx_order_status_history_order", columnList = "order_id, id"))
+@SequenceGenerator(name = "order_status_history_seq_generator", sequenceName = "order_status_history_seq",
+        allocationSize = IdAllocation.ALLOCATION_SIZE)
+@Getter
+public class OrderStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_status_history_seq_generator")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "from_status")
+    @Convert(converter = PayStatusConverter.class)
+    private PayStatus fromStatus;
+
+    @Column(name = "to_status", nullable = false)
+    @Convert(converter = PayStatusConverter.class)
+    private PayStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    protected OrderStatusHistory() {}
+}
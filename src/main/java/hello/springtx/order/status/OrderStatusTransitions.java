@@ -0,0 +1,201 @@
+package hello.springtx.order.status;
+
+import hello.springtx.PooledIdAllocator;
+import hello.springtx.order.Order;
+import hello.springtx.order.PayStatus;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 주문 결제 상태 변경의 단일 진입점.
+ *
+ * <p>기본은 order.setPayStatus 와 같다. springtx.order.status.coalescing.enabled=true 이면 트랜잭션 안의 상태 변경을
+ * 주문마다 (상태, 시각) 배열로만 모아 두고 커밋 직전에 한 번 처리한다.
+ * <ul>
+ *     <li>영속 상태 주문은 커밋 직전에 마지막 상태만 엔티티에 반영한다. 중간에 JPQL 조회로 auto flush 가 일어나도
+ *     중간 상태 UPDATE 가 나가지 않고, 처음 상태로 돌아왔으면 UPDATE 자체가 없다. Order 는 @DynamicUpdate 라 pay_status 만 쓴다.</li>
+ *     <li>아직 persist 하지 않은 주문은 INSERT 에 실릴 것이므로 바로 반영한다(OrderService.orderAll).
+ *     persist 는 했지만 아직 flush 되지 않은 주문은 INSERT 가 persist 시점의 상태로 나가므로,
+ *     마지막 상태는 다른 영속 주문처럼 UPDATE 한 번으로 반영된다(OrderService.order).</li>
+ *     <li>모든 변경은 같은 트랜잭션에서 order_status_history 에 JDBC 배치로 추가된다.
+ *     ID 는 PooledIdAllocator 로 OrderStatusHistory 의 pooled 시퀀스 블록에서 받으므로 행마다 시퀀스를 조회하지 않는다.</li>
+ * </ul>
+ * 롤백되면 모아 둔 변경은 버려지고 영속 상태 주문의 필드도 바뀌지 않는다.
+ * 트랜잭션 안에서 지연된 상태를 읽으려면 order.getPayStatus() 대신 statusOf 를 쓴다.
+ */
+@Slf4j
+@Component
+public class OrderStatusTransitions {
+
+    private static final String INSERT_HISTORY_SQL = "insert into order_status_history"
+            + " (id, order_id, from_status, to_status, changed_at)"
+            + " values (?, ?, ?, ?, ?)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledIdAllocator idAllocator;
+    private final boolean coalescing;
+    private final int batchSize;
+
+    public OrderStatusTransitions(EntityManager em, JdbcTemplate jdbcTemplate,
+                                  @Value("${springtx.order.status.coalescing.enabled:false}") boolean coalescing,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                                  @Value("${spring.jpa.properties.hibernate.id.optimizer.pooled.preferred:pooled}")
+                                  String optimizer) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = PooledIdAllocator.forEntity(jdbcTemplate.getDataSource(), OrderStatusHistory.class, optimizer);
+        this.coalescing = coalescing;
+        this.batchSize = batchSize;
+    }
+
+    public void transition(Order order, PayStatus to) {
+        if (!coalescing || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            order.setPayStatus(to);
+            return;
+        }
+        Transitions transitions = buffer().computeIfAbsent(order, Transitions::new);
+        boolean deferred = em.contains(order);
+        transitions.add(to, System.currentTimeMillis(), deferred);
+        if (!deferred) {
+            order.setPayStatus(to);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션에서 지연된 변경까지 반영한 결제 상태
+     */
+    public PayStatus statusOf(Order order) {
+        if (coalescing && TransactionSynchronizationManager.isSynchronizationActive()) {
+            Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+            Transitions transitions = (buffer != null ? buffer.get(order) : null);
+            if (transitions != null) {
+                return transitions.last();
+            }
+        }
+        return order.getPayStatus();
+    }
+
+    private Buffer buffer() {
+        Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new Buffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        return buffer;
+    }
+
+    private void apply(Buffer buffer) {
+        List<Object[]> history = new ArrayList<>();
+        for (Transitions transitions : buffer.values()) {
+            Order order = transitions.order;
+            PayStatus last = transitions.last();
+            if (transitions.deferred && last != transitions.initial) {
+                if (!em.contains(order) && order.getId() != null) {
+                    // 트랜잭션 중간에 clear 되었으면 다시 영속 상태로 읽어서 반영한다
+                    Order managed = em.find(Order.class, order.getId());
+                    if (managed != null) {
+                        managed.setPayStatus(last);
+                    }
+                }
+                order.setPayStatus(last);
+            }
+            if (order.getId() != null) {
+                transitions.appendHistory(history, idAllocator);
+            }
+        }
+        for (int from = 0; from < history.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history.subList(from, Math.min(from + batchSize, history.size())));
+        }
+        log.debug("주문 상태 반영 orders={}, history={}", buffer.size(), history.size());
+    }
+
+    /**
+     * 트랜잭션마다 하나씩 바인딩된다. REQUIRES_NEW 등으로 트랜잭션이 일시 중단되면 스프링 리소스 홀더처럼
+     * 바인딩을 풀었다가 재개할 때 다시 바인딩하므로, 안쪽 트랜잭션은 자기 Buffer 를 새로 만든다.
+     */
+    private class Buffer extends IdentityHashMap<Order, Transitions> implements TransactionSynchronization {
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OrderStatusTransitions.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OrderStatusTransitions.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply(this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OrderStatusTransitions.this);
+        }
+    }
+
+    /**
+     * 한 주문의 트랜잭션 안 상태 변경. 상태는 ordinal, 시각은 epoch millis 로만 들고 있는다.
+     */
+    private static final class Transitions {
+
+        private static final PayStatus[] STATUSES = PayStatus.values();
+
+        final Order order;
+        final PayStatus initial;
+        boolean deferred;
+        private byte[] statuses = new byte[4];
+        private long[] times = new long[4];
+        private int size;
+
+        Transitions(Order order) {
+            this.order = order;
+            this.initial = order.getPayStatus();
+        }
+
+        void add(PayStatus status, long time, boolean deferred) {
+            if (size == statuses.length) {
+                statuses = Arrays.copyOf(statuses, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            statuses[size] = (byte) status.ordinal();
+            times[size] = time;
+            size++;
+            this.deferred |= deferred;
+        }
+
+        PayStatus last() {
+            return STATUSES[statuses[size - 1]];
+        }
+
+        void appendHistory(List<Object[]> history, PooledIdAllocator ids) {
+            PayStatus from = initial;
+            for (int i = 0; i < size; i++) {
+                PayStatus to = STATUSES[statuses[i]];
+                history.add(new Object[]{ids.nextId(), order.getId(), code(from), code(to), OffsetDateTime.ofInstant(Instant.ofEpochMilli(times[i]), ZoneOffset.UTC)});
+                from = to;
+            }
+        }
+
+        private static String code(PayStatus status) {
+            return (status != null ? String.valueOf(status.getCode()) : null);
+        }
+    }
+}
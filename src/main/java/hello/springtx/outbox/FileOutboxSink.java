@@ -0,0 +1,51 @@
+package hello.springtx.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이벤트를 한 줄에 하나씩 JSON(NDJSON) 으로 파일 끝에 붙인다. 배치마다 한 번 flush 한다.
+ */
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        try {
+            for (OutboxEvent event : events) {
+                ObjectNode node = objectMapper.createObjectNode()
+                        .put("id", event.getId())
+                        .put("type", event.getType())
+                        .put("payload", event.getPayload())
+                        .put("createdAt", event.getCreatedAt().toString());
+                writer.write(objectMapper.writeValueAsString(node));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,21 @@
+package hello.springtx.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트용 프로세스 내부 sink
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> published = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        published.addAll(events);
+    }
+
+    public synchronized List<OutboxEvent> getPublished() {
+        return List.copyOf(published);
+    }
+}
@@ -0,0 +1,34 @@
+package hello.springtx.outbox;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import java.time.Instant;
+import lombok.Getter;
+
+/**
+ * 외부로 내보낼 이벤트. 이벤트를 만든 트랜잭션과 같은 트랜잭션에서 저장된다.
+ * 다른 엔티티와 달리 IDENTITY 를 쓴다. pooled 시퀀스는 스레드마다 ID 블록을 따로 잡아서
+ * ID 순서가 insert 순서와 크게 어긋나므로, insert 순서대로 증가하는 IDENTITY 로 relay 가 ID 순으로 읽게 한다.
+ * 다만 커밋 순서까지 같지는 않으므로 늦게 커밋된 행은 OutboxRelay 가 따로 챙긴다.
+ */
+@Entity
+@Getter
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String type;
+    private String payload;
+    private Instant createdAt;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(String type, String payload) {
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,83 @@
+package hello.springtx.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * outbox 를 ID 순서대로 배치 단위로 읽어 sink 로 내보내고, 내보낸 행은 같은 트랜잭션에서 지운다.
+ *
+ * <p>cursor(high-water mark) 는 지금까지 내보낸 가장 큰 ID 다.
+ * IDENTITY 값은 insert 할 때 정해지고 커밋 순서와는 상관이 없으므로, 먼저 insert 되고 늦게 커밋된 행은
+ * cursor 아래에 남는다. 그래서 배치마다 cursor 아래(gap)를 먼저 읽고, 남은 자리를 cursor 뒤의 행으로 채운다.
+ * 내보낸 행은 지워지므로 cursor 아래에 남은 행은 늦게 커밋된 행뿐이고, 보통은 비어 있는 범위를 읽는다.
+ * 한 배치 안에서는 ID 순서지만, 늦게 커밋된 행은 이미 내보낸 더 큰 ID 보다 뒤에 나갈 수 있다.
+ * 재시작하면 cursor 는 0 에서 시작하지만 남아 있는 행은 모두 아직 내보내지 않은 행이다.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int batchSize;
+
+    private volatile long cursor;
+
+    public OutboxRelay(OutboxRepository outboxRepository, TransactionTemplate transactionTemplate,
+                       OutboxSink sink, int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return 내보낸 이벤트 수
+     */
+    public synchronized int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = new ArrayList<>(batchSize);
+            if (cursor > 0) {
+                events.addAll(outboxRepository.findUpTo(cursor, batchSize));
+            }
+            if (events.size() < batchSize) {
+                events.addAll(outboxRepository.findAfter(cursor, batchSize - events.size()));
+            }
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            sink.publish(events);
+
+            List<Long> ids = new ArrayList<>(events.size());
+            long maxId = cursor;
+            for (OutboxEvent event : events) {
+                ids.add(event.getId());
+                maxId = Math.max(maxId, event.getId());
+            }
+            outboxRepository.delete(ids);
+            cursor = maxId;
+            return events.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    public int relayAll() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize);
+        if (total > 0) {
+            log.debug("outbox relay count={} cursor={}", total, cursor);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,44 @@
+package hello.springtx.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxRelayProperties.class)
+@ConditionalOnProperty(prefix = "springtx.outbox.relay", name = "enabled", havingValue = "true")
+public class OutboxRelayConfig {
+
+    @Bean
+    public FileOutboxSink outboxSink(OutboxRelayProperties properties, ObjectMapper objectMapper) throws IOException {
+        return new FileOutboxSink(Path.of(properties.getFile()), objectMapper);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, TransactionTemplate transactionTemplate,
+                                   OutboxSink outboxSink, OutboxRelayProperties properties) {
+        return new OutboxRelay(outboxRepository, transactionTemplate, outboxSink, properties.getBatchSize());
+    }
+
+    @Configuration
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(prefix = "springtx.outbox.relay", name = "enabled", havingValue = "true")
+    static class Scheduler {
+
+        private final OutboxRelay outboxRelay;
+
+        @Scheduled(fixedDelayString = "${springtx.outbox.relay.poll-interval:100ms}")
+        public void relay() {
+            outboxRelay.relayAll();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package hello.springtx.outbox;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * outbox relay 설정 (springtx.outbox.relay.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.outbox.relay")
+public class OutboxRelayProperties {
+
+    private boolean enabled = false;
+    private int batchSize = 1_000;
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /** FileOutboxSink 가 이벤트를 붙이는 파일 */
+    private String file = "outbox.ndjson";
+}
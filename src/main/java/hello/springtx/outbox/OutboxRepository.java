@@ -0,0 +1,47 @@
+package hello.springtx.outbox;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 이벤트를 만든 쪽의 트랜잭션에 반드시 참여해야 하므로 MANDATORY
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void save(OutboxEvent event) {
+        log.info("Outbox 저장 type={}", event.getType());
+        em.persist(event);
+    }
+
+    public List<OutboxEvent> findAfter(long cursor, int limit) {
+        return em.createQuery("select e from OutboxEvent e where e.id > :cursor order by e.id", OutboxEvent.class)
+                .setParameter("cursor", cursor)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<OutboxEvent> findUpTo(long cursor, int limit) {
+        return em.createQuery("select e from OutboxEvent e where e.id <= :cursor order by e.id", OutboxEvent.class)
+                .setParameter("cursor", cursor)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public int delete(Collection<Long> ids) {
+        return em.createQuery("delete from OutboxEvent e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+}
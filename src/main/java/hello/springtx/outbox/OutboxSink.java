@@ -0,0 +1,11 @@
+package hello.springtx.outbox;
+
+import java.util.List;
+
+/**
+ * relay 가 outbox 이벤트를 내보내는 곳. 예외를 던지면 relay 트랜잭션이 롤백되고 같은 이벤트를 다시 보낸다 (at-least-once).
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
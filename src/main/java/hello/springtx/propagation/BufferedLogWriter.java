@@ -0,0 +1,187 @@
+package hello.springtx.propagation;
+
+import hello.springtx.PooledIdAllocator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 로그를 메모리 큐에 모아두었다가 백그라운드 스레드가 배치 단위로 저장한다.
+ * 배치 하나는 별도의 트랜잭션(REQUIRES_NEW)으로 커밋되므로 회원 트랜잭션과 분리된다.
+ *
+ * <p>write 는 호출한 트랜잭션 안에서 큐에 넣기만 하고, 저장은 백그라운드 스레드가 호출한 트랜잭션과 상관없는 시점에 한다.
+ * 그래서 로그 배치는 회원 트랜잭션이 커밋되기 전에 커밋될 수도 있고, 회원 트랜잭션이 롤백되어도 이미 넣은 로그는 저장된다.
+ * 로그 저장 실패는 호출자에게 전달되지 않으므로 버퍼 모드의 joinV1 은 로그 저장이 실패해도 회원이 롤백되지 않는다.
+ * 큐가 가득 찬 경우(LogBufferFullException)만 예외가 나고, 이 예외는 호출한 트랜잭션을 롤백시킨다.
+ * ID 는 PooledIdAllocator 로 JPA 와 같은 log_seq 블록에서 받는다.
+ */
+@Slf4j
+public class BufferedLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "insert into log (id, message) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledIdAllocator idAllocator;
+    private final TransactionTemplate txTemplate;
+    private final LogBufferProperties properties;
+    private final BlockingQueue<Log> queue;
+
+    /** 큐에 넣은 로그 수와 저장을 끝낸(성공이든 실패든) 로그 수. awaitFlushed 가 둘을 비교한다 */
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final Object flushSignal = new Object();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public BufferedLogWriter(JdbcTemplate jdbcTemplate,
+                             PooledIdAllocator idAllocator,
+                             PlatformTransactionManager transactionManager,
+                             LogBufferProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 큐가 가득 차 있으면 offerTimeout 만큼 기다린 뒤 LogBufferFullException 을 던진다.
+     */
+    public void write(Log logMessage) {
+        if (!running) {
+            throw new IllegalStateException("BufferedLogWriter 가 실행 중이 아닙니다.");
+        }
+        try {
+            if (!queue.offer(logMessage, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new LogBufferFullException("로그 버퍼가 가득 찼습니다. capacity=" + properties.getCapacity());
+            }
+            accepted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LogBufferFullException("로그 버퍼 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * 호출 시점까지 큐에 넣은 로그의 저장(커밋 또는 실패)이 끝날 때까지 기다린다.
+     *
+     * @return timeout 안에 끝났으면 true
+     */
+    public boolean awaitFlushed(Duration timeout) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (flushSignal) {
+            while (completed.get() < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(flushSignal, remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "log-buffer-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("종료 시간 초과로 저장하지 못한 로그가 있습니다. count={}", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        int flushSize = properties.getFlushSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<Log> batch = new ArrayList<>(flushSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Log first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, flushSize, System.nanoTime() + flushIntervalNanos);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("로그 버퍼 writer 종료");
+    }
+
+    private void fill(List<Log> batch, int flushSize, long deadline) throws InterruptedException {
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                return;
+            }
+            Log next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Log> batch) {
+        try {
+            txTemplate.executeWithoutResult(status -> {
+                for (Log logMessage : batch) {
+                    logMessage.setId(idAllocator.nextId());
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, logMessage) -> {
+                    ps.setLong(1, logMessage.getId());
+                    ps.setString(2, logMessage.getMessage());
+                });
+            });
+            log.debug("로그 배치 저장 size={}", batch.size());
+        } catch (RuntimeException e) {
+            log.error("로그 배치 저장 실패... size={}", batch.size(), e);
+        } finally {
+            completed.addAndGet(batch.size());
+            synchronized (flushSignal) {
+                flushSignal.notifyAll();
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package hello.springtx.propagation;
 
+import hello.springtx.IdAllocation;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,10 +16,14 @@ import lombok.Setter;
  */
 
 @Entity
+@Table(indexes = @Index(name = "idx_log_message", columnList = "message"))
+@SequenceGenerator(name = "log_seq_generator", sequenceName = "log_seq",
+        allocationSize = IdAllocation.ALLOCATION_SIZE)
 @Getter @Setter
 public class Log {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "log_seq_generator")
     private Long id;
     private String message;
 
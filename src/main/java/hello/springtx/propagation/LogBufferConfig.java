@@ -0,0 +1,26 @@
+package hello.springtx.propagation;
+
+import hello.springtx.PooledIdAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(LogBufferProperties.class)
+@ConditionalOnProperty(prefix = "springtx.log.buffer", name = "enabled", havingValue = "true")
+public class LogBufferConfig {
+
+    @Bean
+    public BufferedLogWriter bufferedLogWriter(JdbcTemplate jdbcTemplate,
+                                               PlatformTransactionManager transactionManager,
+                                               LogBufferProperties properties,
+                                               @Value("${spring.jpa.properties.hibernate.id.optimizer.pooled.preferred:pooled}")
+                                               String optimizer) {
+        PooledIdAllocator idAllocator = PooledIdAllocator.forEntity(jdbcTemplate.getDataSource(), Log.class, optimizer);
+        return new BufferedLogWriter(jdbcTemplate, idAllocator, transactionManager, properties);
+    }
+}
@@ -0,0 +1,11 @@
+package hello.springtx.propagation;
+
+public class LogBufferFullException extends RuntimeException {
+    public LogBufferFullException(String message) {
+        super(message);
+    }
+
+    public LogBufferFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package hello.springtx.propagation;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 버퍼 로그 모드 설정 (springtx.log.buffer.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.log.buffer")
+public class LogBufferProperties {
+
+    private boolean enabled = false;
+
+    /** 큐에 쌓아둘 수 있는 최대 로그 수 */
+    private int capacity = 10_000;
+
+    /** 한 트랜잭션에서 배치로 저장할 최대 로그 수 */
+    private int flushSize = 500;
+
+    /** 첫 로그가 들어온 뒤 flushSize 를 채우지 못해도 저장하는 주기 */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** 큐가 가득 찼을 때 기다리는 최대 시간 (backpressure) */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /** 종료 시 남은 로그를 비우기 위해 기다리는 최대 시간 */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
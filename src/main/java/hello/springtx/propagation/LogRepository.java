@@ -1,9 +1,13 @@
 package hello.springtx.propagation;
 
+import hello.springtx.export.Cursors;
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +19,12 @@ public class LogRepository {
 
     private final EntityManager em;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${springtx.export.fetch-size:1000}")
+    private int fetchSize;
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void save(Log logMessage) {
         log.info("Log 저장");
@@ -26,9 +36,38 @@ public class LogRepository {
         }
     }
 
+    /**
+     * batchSize 마다 flush / clear 해서 insert 를 JDBC 배치로 보낸다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveAll(Collection<Log> logMessages) {
+        log.info("Log 일괄 저장 size={}", logMessages.size());
+        int count = 0;
+        for (Log logMessage : logMessages) {
+            em.persist(logMessage);
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 전체 Log 를 ID 순서로 한 건씩 action 에 넘긴다. 넘긴 엔티티는 준영속 상태다.
+     *
+     * @return 읽은 건수
+     */
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<? super Log> action) {
+        return Cursors.forEach(em, "select l from Log l order by l.id", Log.class, fetchSize, action);
+    }
+
     public Optional<Log> find(String message) {
         return em.createQuery("select l from Log l where l.message = :message", Log.class)
                 .setParameter("message", message)
+                .setMaxResults(1)
                 .getResultList().stream().findAny();
     }
 }
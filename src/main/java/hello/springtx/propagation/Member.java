@@ -1,17 +1,31 @@
 package hello.springtx.propagation;
 
+import hello.springtx.IdAllocation;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MemberSecondLevelCacheConfig.ENTITY_REGION)
+@Table(indexes = @Index(name = "idx_member_name", columnList = "name"))
+@SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq",
+        allocationSize = IdAllocation.ALLOCATION_SIZE)
 @Getter
 @Setter
 public class Member {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
     private Long id;
     private String name;
 
@@ -0,0 +1,105 @@
+package hello.springtx.propagation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * MemberRepository.find(name) 앞에 두는 LRU 캐시.
+ * 저장은 커밋된 뒤에만 캐시를 무효화하므로 롤백된 저장이 캐시에 흔적을 남기지 않는다.
+ *
+ * <p>조회는 DB 를 읽기 전에 stamp() 를 받아 두고 put 에 넘긴다. 그 사이 같은 이름(같은 stripe)이 무효화되었으면
+ * 읽은 값이 무효화 전의 것일 수 있으므로 넣지 않는다. 늦게 끝난 조회가 오래된 값을 되살리지 않게 하기 위해서다.
+ * 캐시는 준영속 복사본을 보관하고 get 도 복사본을 돌려주므로 호출자가 바꿔도 캐시 값은 바뀌지 않는다.
+ * 이름은 유일하지 않으므로 같은 이름의 회원이 여럿이면 캐시하지 않는다(MemberRepository 참고).
+ */
+@Slf4j
+public class MemberCache {
+
+    private static final int STRIPES = 64;
+
+    private final Map<String, Member> cache;
+
+    /** 무효화할 때마다 1 씩 늘어나는 번호와, stripe 별 마지막 무효화 번호 */
+    private long evictions;
+    private final long[] lastEviction = new long[STRIPES];
+
+    public MemberCache(int maxSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Member> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Optional<Member> get(String name) {
+        return Optional.ofNullable(cache.get(name)).map(MemberCache::copy);
+    }
+
+    /**
+     * DB 를 읽기 전에 받아 put 에 넘긴다.
+     */
+    public synchronized long stamp() {
+        return evictions;
+    }
+
+    /**
+     * stamp 이후 name 이 무효화되었거나 쓰기 트랜잭션 안이면(아직 커밋되지 않았을 수 있으므로) 넣지 않는다.
+     *
+     * @return 넣었으면 true
+     */
+    public boolean put(String name, Member member, long stamp) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        synchronized (this) {
+            if (lastEviction[stripe(name)] > stamp) {
+                log.debug("Member 캐시 stale put 무시 name={}", name);
+                return false;
+            }
+            cache.put(name, copy(member));
+            return true;
+        }
+    }
+
+    public synchronized void evict(String name) {
+        lastEviction[stripe(name)] = ++evictions;
+        cache.remove(name);
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 name 을 무효화한다. 트랜잭션이 없으면 바로 무효화한다.
+     */
+    public void evictAfterCommit(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(name);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                log.debug("Member 캐시 무효화 name={}", name);
+                evict(name);
+            }
+        });
+    }
+
+    private static int stripe(String name) {
+        return (name.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    private static Member copy(Member member) {
+        Member copy = new Member(member.getName());
+        copy.setId(member.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,27 @@
+package hello.springtx.propagation;
+
+import hello.springtx.startup.StartupTask;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MemberCacheProperties.class)
+@ConditionalOnProperty(prefix = "springtx.member.cache", name = "enabled", havingValue = "true")
+public class MemberCacheConfig {
+
+    @Bean
+    public MemberCache memberCache(MemberCacheProperties properties) {
+        return new MemberCache(properties.getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnExpression("${springtx.member.cache.preload-size:0} > 0")
+    public StartupTask memberCachePreloadTask(MemberRepository memberRepository, MemberCacheProperties properties) {
+        // 캐시를 못 채워도 조회는 DB 로 가므로 필수 작업이 아니다
+        return StartupTask.of("memberCache.preload", true, false,
+                () -> memberRepository.preloadCache(properties.getPreloadSize()));
+    }
+}
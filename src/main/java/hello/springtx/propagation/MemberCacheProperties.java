@@ -0,0 +1,21 @@
+package hello.springtx.propagation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 회원 이름 조회 캐시 설정 (springtx.member.cache.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.member.cache")
+public class MemberCacheProperties {
+
+    private boolean enabled = false;
+
+    /** 캐시에 보관할 최대 회원 수, 넘으면 가장 오래 조회되지 않은 항목부터 제거 */
+    private int maxSize = 1_000;
+
+    /** 시작할 때(StartupTask) 미리 넣을 최근 가입 회원 수, 0 이면 미리 넣지 않는다 */
+    private int preloadSize = 0;
+}
@@ -1,9 +1,16 @@
 package hello.springtx.propagation;
 
+import hello.springtx.export.Cursors;
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,16 +20,109 @@ import org.springframework.transaction.annotation.Transactional;
 public class MemberRepository {
 
     private final EntityManager em;
+    private final ObjectProvider<MemberCache> memberCache;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${springtx.export.fetch-size:1000}")
+    private int fetchSize;
 
     @Transactional
     public void save(Member member) {
         log.info("Member 저장");
         em.persist(member);
+        memberCache.ifAvailable(cache -> cache.evictAfterCommit(member.getName()));
+    }
+
+    /**
+     * batchSize 마다 flush / clear 해서 insert 를 JDBC 배치로 보내고 영속성 컨텍스트가 커지지 않게 한다.
+     * clear 하므로 같은 트랜잭션에서 이미 조회한 엔티티도 준영속 상태가 된다.
+     */
+    @Transactional
+    public void saveAll(Collection<Member> members) {
+        log.info("Member 일괄 저장 size={}", members.size());
+        int count = 0;
+        for (Member member : members) {
+            em.persist(member);
+            memberCache.ifAvailable(cache -> cache.evictAfterCommit(member.getName()));
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
     }
 
+    /**
+     * 전체 Member 를 ID 순서로 한 건씩 action 에 넘긴다. 넘긴 엔티티는 준영속 상태다.
+     *
+     * @return 읽은 건수
+     */
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<? super Member> action) {
+        return Cursors.forEach(em, "select m from Member m order by m.id", Member.class, fetchSize, action);
+    }
+
+    /**
+     * 같은 이름의 회원이 여럿이면 ID 가 가장 작은 회원을 돌려주고, 어느 회원인지 캐시로 고정할 수 없으므로 캐시하지 않는다.
+     */
     public Optional<Member> find(String name) {
-        return em.createQuery("select m from Member m where m.name = :name", Member.class)
+        MemberCache cache = memberCache.getIfAvailable();
+        if (cache == null) {
+            return findFromDb(name).stream().findFirst();
+        }
+        Optional<Member> cached = cache.get(name);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long stamp = cache.stamp();
+        List<Member> members = findFromDb(name);
+        if (members.size() == 1) {
+            cache.put(name, members.get(0), stamp);
+        }
+        return members.stream().findFirst();
+    }
+
+    /**
+     * 가장 최근에 가입한 회원 limit 명을 이름 조회 캐시에 넣는다. 캐시가 없으면 아무것도 하지 않는다.
+     * 쓰기 트랜잭션 안에서는 MemberCache.put 이 무시되므로 readOnly 로 읽는다. 이름이 겹치는 회원은 넣지 않는다.
+     *
+     * @return 캐시에 넣은 회원 수
+     */
+    @Transactional(readOnly = true)
+    public int preloadCache(int limit) {
+        MemberCache cache = memberCache.getIfAvailable();
+        if (cache == null) {
+            return 0;
+        }
+        long stamp = cache.stamp();
+        List<Member> members = em.createQuery("select m from Member m"
+                        + " where m.name in (select d.name from Member d group by d.name having count(d) = 1)"
+                        + " order by m.id desc", Member.class)
+                .setMaxResults(limit)
+                .getResultList();
+        int put = 0;
+        for (Member member : members) {
+            if (cache.put(member.getName(), member, stamp)) {
+                put++;
+            }
+        }
+        return put;
+    }
+
+    /**
+     * 2차 캐시(springtx.member.l2-cache.enabled=true)가 켜져 있으면 결과 ID 는 member.byName 쿼리 region 에,
+     * 엔티티는 member region 에 남는다. 꺼져 있으면 캐시 힌트는 무시된다.
+     */
+    private List<Member> findFromDb(String name) {
+        // 이름이 겹치는지만 알면 되므로 2 건까지만 읽는다
+        return em.createQuery("select m from Member m where m.name = :name order by m.id", Member.class)
                 .setParameter("name", name)
-                .getResultList().stream().findAny();
+                .setMaxResults(2)
+                .setHint(AvailableHints.HINT_CACHEABLE, true)
+                .setHint(AvailableHints.HINT_CACHE_REGION, MemberSecondLevelCacheConfig.BY_NAME_REGION)
+                .getResultList();
     }
 }
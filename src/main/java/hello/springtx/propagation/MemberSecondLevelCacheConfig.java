@@ -0,0 +1,81 @@
+package hello.springtx.propagation;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.annotations.CacheLayout;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Member 엔티티와 이름 조회 쿼리에 Hibernate 2차 캐시를 켠다. 캐시는 JVM 힙 안의 Ehcache(JCache) 다.
+ *
+ * <p>Member 는 READ_WRITE 전략이라 insert / update 한 항목은 커밋된 뒤에만 캐시에 들어가고,
+ * 롤백되면 soft lock 만 풀린다. 쿼리 결과는 member 테이블 갱신 시각이 커밋 때 바뀌면 무효가 된다.
+ * 적중 / 실패 수는 Hibernate Statistics 와 Actuator 의 hibernate.second.level.cache.*, hibernate.query.cache.* 메트릭으로 본다.
+ *
+ * <p>hibernate-jcache 가 클래스패스에 있으면 Hibernate 는 기본 JCache CacheManager 로 2차 캐시를 켜고,
+ * 한 JVM 의 컨텍스트들이 그 CacheManager 를 같이 쓰다가 먼저 닫힌 컨텍스트 때문에 "Cache[member] is closed" 로 실패한다.
+ * 그래서 application.properties 에서 2차 캐시를 꺼 두고 이 설정의 customizer 에서만 켠다.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MemberSecondLevelCacheProperties.class)
+@ConditionalOnProperty(prefix = "springtx.member.l2-cache", name = "enabled", havingValue = "true")
+public class MemberSecondLevelCacheConfig {
+
+    public static final String ENTITY_REGION = "member";
+    public static final String BY_NAME_REGION = "member.byName";
+
+    @Bean
+    public CacheManager memberL2CacheManager(MemberSecondLevelCacheProperties properties) {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(ENTITY_REGION, bounded(properties.getMaxEntries(), properties.getTtl()))
+                .withCache(BY_NAME_REGION, bounded(properties.getQueryMaxEntries(), properties.getQueryTtl()))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                        bounded(properties.getQueryMaxEntries(), properties.getQueryTtl()))
+                // 갱신 시각이 먼저 사라지면 오래된 쿼리 결과가 유효해 보이므로 이 region 은 크기와 수명을 제한하지 않는다
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(Long.MAX_VALUE)))
+                .build();
+        // 설정 파일이 아닌 코드로 만든 설정을 넘긴다. URI 는 CacheManager 이름일 뿐이고 컨텍스트마다 따로 쓰도록 나눈다
+        return provider.getCacheManager(URI.create("urn:springtx:l2:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer memberL2CacheCustomizer(CacheManager memberL2CacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            // 쿼리 region 에는 ID 만 두고 엔티티는 member region 에서 읽는다. 엔티티 상태를 한 곳에만 둬서 READ_WRITE 무효화가 그대로 먹힌다
+            properties.put(AvailableSettings.QUERY_CACHE_LAYOUT, CacheLayout.SHALLOW);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, memberL2CacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> bounded(long maxEntries, Duration ttl) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package hello.springtx.propagation;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 회원 Hibernate 2차 캐시 설정 (springtx.member.l2-cache.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.member.l2-cache")
+public class MemberSecondLevelCacheProperties {
+
+    private boolean enabled = false;
+
+    /** member 엔티티 region 에 보관할 최대 회원 수 */
+    private long maxEntries = 10_000;
+    /** member 엔티티 region 항목의 수명 */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** member.byName 쿼리 region 에 보관할 최대 결과 수 */
+    private long queryMaxEntries = 10_000;
+    /** member.byName 쿼리 region 항목의 수명 */
+    private Duration queryTtl = Duration.ofMinutes(1);
+}
@@ -1,7 +1,11 @@
 package hello.springtx.propagation;
 
+import hello.springtx.admission.RequiresConnections;
+import hello.springtx.outbox.OutboxEvent;
+import hello.springtx.outbox.OutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,9 +14,14 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class MemberService {
 
+    public static final String MEMBER_JOINED = "MemberJoined";
+
     private final MemberRepository memberRepository;
     private final LogRepository logRepository;
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<BufferedLogWriter> bufferedLogWriter;
 
+    @RequiresConnections(2)
     @Transactional
     public void joinV1(String name) {
         Member member = new Member(name);
@@ -20,13 +29,15 @@ public class MemberService {
 
         log.info("== memberRepository 호출 시작 ==");
         memberRepository.save(member);
+        outboxRepository.save(new OutboxEvent(MEMBER_JOINED, name));
         log.info("== memberRepository 호출 종료 ==");
 
         log.info("== logRepository 호출 시작 ==");
-        logRepository.save(logMessage);
+        saveLog(logMessage);
         log.info("== logRepository 호출 종료 ==");
     }
 
+    @RequiresConnections(2)
     @Transactional
     public void joinV2(String name) {
         Member member = new Member(name);
@@ -34,11 +45,12 @@ public class MemberService {
 
         log.info("== memberRepository 호출 시작 ==");
         memberRepository.save(member);
+        outboxRepository.save(new OutboxEvent(MEMBER_JOINED, name));
         log.info("== memberRepository 호출 종료 ==");
 
         log.info("== logRepository 호출 시작 ==");
         try {
-            logRepository.save(logMessage);
+            saveLog(logMessage);
         } catch (RuntimeException e) {
             log.info("로그 저장 실패... logMessage={}", logMessage.getMessage());
             log.info("정상 흐름 반환");
@@ -46,4 +58,17 @@ public class MemberService {
 
         log.info("== logRepository 호출 종료 ==");
     }
+
+    /**
+     * 버퍼 로그 모드(springtx.log.buffer.enabled=true)이면 큐에 넣고, 아니면 REQUIRES_NEW 로 바로 저장한다.
+     * 버퍼 모드에서는 로그 저장 실패가 여기로 전달되지 않으므로 joinV1 도 회원을 롤백하지 않는다.
+     */
+    private void saveLog(Log logMessage) {
+        BufferedLogWriter writer = bufferedLogWriter.getIfAvailable();
+        if (writer != null) {
+            writer.write(logMessage);
+            return;
+        }
+        logRepository.save(logMessage);
+    }
 }
@@ -0,0 +1,79 @@
+package hello.springtx.reactive;
+
+import hello.springtx.order.payment.PaymentDecider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * springtx.reactive.enabled=true 이면 R2DBC(springtx.reactive.*) 위에 리액티브 회원 / 주문 서비스를 올린다.
+ * R2DBC 쪽 DB 는 JPA DataSource 와 별개이고 스키마는 reactive-schema.sql 로 만든다.
+ *
+ * <p>Boot 의 R2dbcAutoConfiguration 은 끈다(application.properties). ConnectionFactory 빈이 있으면
+ * DataSourceAutoConfiguration 이 물러나 JPA 가 올라오지 않기 때문이다. 풀은 켤 때만 ReactiveConnections 로 만든다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.reactive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReactiveConnections reactiveConnections(ReactiveProperties properties) {
+        return new ReactiveConnections(properties);
+    }
+
+    @Bean
+    public ConnectionFactoryInitializer reactiveSchemaInitializer(ReactiveConnections reactiveConnections) {
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(reactiveConnections.getConnectionFactory());
+        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("reactive-schema.sql")));
+        return initializer;
+    }
+
+    @Bean
+    public ReactiveTransactions reactiveTransactions(ReactiveConnections reactiveConnections) {
+        return new ReactiveTransactions(new R2dbcTransactionManager(reactiveConnections.getConnectionFactory()));
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveConnections reactiveConnections) {
+        return DatabaseClient.create(reactiveConnections.getConnectionFactory());
+    }
+
+    @Bean
+    public ReactiveMemberRepository reactiveMemberRepository(DatabaseClient reactiveDatabaseClient,
+                                                             ReactiveTransactions reactiveTransactions) {
+        return new ReactiveMemberRepository(reactiveDatabaseClient, reactiveTransactions);
+    }
+
+    @Bean
+    public ReactiveLogRepository reactiveLogRepository(DatabaseClient reactiveDatabaseClient,
+                                                       ReactiveTransactions reactiveTransactions) {
+        return new ReactiveLogRepository(reactiveDatabaseClient, reactiveTransactions);
+    }
+
+    @Bean
+    public ReactiveOrderRepository reactiveOrderRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveOrderRepository(reactiveDatabaseClient);
+    }
+
+    @Bean
+    public ReactiveMemberService reactiveMemberService(ReactiveMemberRepository reactiveMemberRepository,
+                                                       ReactiveLogRepository reactiveLogRepository,
+                                                       ReactiveTransactions reactiveTransactions) {
+        return new ReactiveMemberService(reactiveMemberRepository, reactiveLogRepository, reactiveTransactions);
+    }
+
+    @Bean
+    public ReactiveOrderService reactiveOrderService(ReactiveOrderRepository reactiveOrderRepository,
+                                                     PaymentDecider paymentDecider,
+                                                     ReactiveTransactions reactiveTransactions) {
+        return new ReactiveOrderService(reactiveOrderRepository, paymentDecider, reactiveTransactions);
+    }
+}
@@ -0,0 +1,35 @@
+package hello.springtx.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * 리액티브 서비스 전용 R2DBC 커넥션 풀. ConnectionFactory 빈으로 등록하지 않는다.
+ * 컨텍스트에 ConnectionFactory 빈이 있으면 DataSourceAutoConfiguration 이 물러나 JPA 가 올라오지 않기 때문이다.
+ */
+public class ReactiveConnections implements AutoCloseable {
+
+    private final ConnectionPool pool;
+
+    public ReactiveConnections(ReactiveProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.getMaximumPoolSize())
+                .build());
+    }
+
+    public ConnectionFactory getConnectionFactory() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,47 @@
+package hello.springtx.reactive;
+
+import hello.springtx.propagation.Log;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * LogRepository 의 R2DBC 버전. save 는 REQUIRES_NEW 로 바깥 트랜잭션과 따로 커밋 / 롤백된다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveLogRepository {
+
+    private final DatabaseClient client;
+    private final ReactiveTransactions transactions;
+
+    public Mono<Log> save(Log logMessage) {
+        Mono<Log> work = client.sql("insert into log (message) values (:message)")
+                .bind("message", logMessage.getMessage())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> {
+                    log.info("Log 저장");
+                    logMessage.setId(id);
+                    if (logMessage.getMessage().contains("로그 예외")) {
+                        log.info("log 저장 시 예외 발생");
+                        return Mono.<Log>error(new RuntimeException("예외 발생"));
+                    }
+                    return Mono.just(logMessage);
+                });
+        return transactions.requiresNew().transactional(work);
+    }
+
+    public Mono<Log> find(String message) {
+        return client.sql("select id, message from log where message = :message limit 1")
+                .bind("message", message)
+                .map(row -> {
+                    Log logMessage = new Log(row.get("message", String.class));
+                    logMessage.setId(row.get("id", Long.class));
+                    return logMessage;
+                })
+                .one();
+    }
+}
@@ -0,0 +1,43 @@
+package hello.springtx.reactive;
+
+import hello.springtx.propagation.Member;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * MemberRepository 의 R2DBC 버전. save 는 진행 중인 트랜잭션에 참여한다(REQUIRED).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveMemberRepository {
+
+    private final DatabaseClient client;
+    private final ReactiveTransactions transactions;
+
+    public Mono<Member> save(Member member) {
+        Mono<Member> work = client.sql("insert into member (name) values (:name)")
+                .bind("name", member.getName())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    log.info("Member 저장");
+                    member.setId(id);
+                    return member;
+                });
+        return transactions.required().transactional(work);
+    }
+
+    public Mono<Member> find(String name) {
+        return client.sql("select id, name from member where name = :name limit 1")
+                .bind("name", name)
+                .map(row -> {
+                    Member member = new Member(row.get("name", String.class));
+                    member.setId(row.get("id", Long.class));
+                    return member;
+                })
+                .one();
+    }
+}
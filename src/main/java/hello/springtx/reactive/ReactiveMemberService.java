@@ -0,0 +1,44 @@
+package hello.springtx.reactive;
+
+import hello.springtx.propagation.Log;
+import hello.springtx.propagation.Member;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * MemberService 의 리액티브 버전. 트랜잭션 규칙은 같다.
+ * <ul>
+ *     <li>joinV1 : 로그 저장(REQUIRES_NEW)이 실패하면 회원 트랜잭션도 롤백된다</li>
+ *     <li>joinV2 : 로그 저장 실패를 복구하므로 회원은 커밋되고 로그만 롤백된다</li>
+ * </ul>
+ * 가입 outbox 는 JPA 쪽에만 있다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveMemberService {
+
+    private final ReactiveMemberRepository memberRepository;
+    private final ReactiveLogRepository logRepository;
+    private final ReactiveTransactions transactions;
+
+    public Mono<Void> joinV1(String name) {
+        Mono<Void> work = memberRepository.save(new Member(name))
+                .then(logRepository.save(new Log(name)))
+                .then();
+        return transactions.required().transactional(work);
+    }
+
+    public Mono<Void> joinV2(String name) {
+        Log logMessage = new Log(name);
+        Mono<Void> work = memberRepository.save(new Member(name))
+                .then(logRepository.save(logMessage)
+                        .onErrorResume(RuntimeException.class, e -> {
+                            log.info("로그 저장 실패... logMessage={}", logMessage.getMessage());
+                            log.info("정상 흐름 반환");
+                            return Mono.empty();
+                        }))
+                .then();
+        return transactions.required().transactional(work);
+    }
+}
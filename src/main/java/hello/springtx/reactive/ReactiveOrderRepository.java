@@ -0,0 +1,73 @@
+package hello.springtx.reactive;
+
+import hello.springtx.order.Order;
+import hello.springtx.order.PayStatus;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * 주문과 결제 대기열의 R2DBC 접근. 트랜잭션은 ReactiveOrderService 가 연다.
+ */
+@RequiredArgsConstructor
+public class ReactiveOrderRepository {
+
+    private final DatabaseClient client;
+
+    public Mono<Order> save(Order order) {
+        return client.sql("insert into orders (user_name) values (:userName)")
+                .bind("userName", order.getUserName())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    order.setId(id);
+                    return order;
+                });
+    }
+
+    public Mono<Void> updatePayStatus(Order order) {
+        return client.sql("update orders set pay_status = :payStatus where id = :id")
+                .bind("payStatus", String.valueOf(order.getPayStatus().getCode()))
+                .bind("id", order.getId())
+                .then();
+    }
+
+    public Mono<Void> savePendingPayment(Long orderId, Instant nextAttemptAt) {
+        return client.sql("insert into pending_payment (order_id, attempts, next_attempt_at) values (:orderId, 0, :next)")
+                .bind("orderId", orderId)
+                .bind("next", OffsetDateTime.ofInstant(nextAttemptAt, ZoneOffset.UTC))
+                .then();
+    }
+
+    public Mono<Order> findById(Long id) {
+        return client.sql("select id, user_name, pay_status from orders where id = :id")
+                .bind("id", id)
+                .map(row -> {
+                    Order order = new Order();
+                    order.setId(row.get("id", Long.class));
+                    order.setUserName(row.get("user_name", String.class));
+                    String code = row.get("pay_status", String.class);
+                    order.setPayStatus(code != null ? PayStatus.ofCode(code.charAt(0)) : null);
+                    return order;
+                })
+                .one();
+    }
+
+    public Mono<Long> countByUserName(String userName) {
+        return client.sql("select count(*) from orders where user_name = :userName")
+                .bind("userName", userName)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> hasPendingPayment(Long orderId) {
+        return client.sql("select count(*) from pending_payment where order_id = :orderId")
+                .bind("orderId", orderId)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+}
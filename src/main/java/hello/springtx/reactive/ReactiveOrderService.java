@@ -0,0 +1,58 @@
+package hello.springtx.reactive;
+
+import hello.springtx.order.NotEnoughMoneyException;
+import hello.springtx.order.Order;
+import hello.springtx.order.PayStatus;
+import hello.springtx.order.payment.PaymentDecider;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * OrderService.order 의 리액티브 버전. 트랜잭션 규칙은 같다.
+ * <ul>
+ *     <li>승인 : 결제 완료로 커밋</li>
+ *     <li>시스템 예외(런타임 예외) : 주문까지 롤백</li>
+ *     <li>잔고 부족(체크 예외) : 대기 상태와 결제 대기열을 커밋하고 NotEnoughMoneyException 으로 끝난다</li>
+ * </ul>
+ * TransactionalOperator 는 예외 종류와 상관없이 롤백하므로, 잔고 부족은 트랜잭션 안에서 값으로 돌려 커밋한 뒤 바깥에서 오류로 바꾼다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final PaymentDecider paymentDecider;
+    private final ReactiveTransactions transactions;
+
+    public Mono<Order> order(Order order) {
+        Mono<Order> work = orderRepository.save(order).flatMap(this::pay);
+        return transactions.required().transactional(work)
+                .flatMap(saved -> saved.getPayStatus() == PayStatus.WAITING
+                        ? Mono.error(new NotEnoughMoneyException("잔고가 부족합니다."))
+                        : Mono.just(saved));
+    }
+
+    private Mono<Order> pay(Order order) {
+        log.info("결제 프로세스 시작");
+        switch (paymentDecider.decide(order)) {
+            case SYSTEM_ERROR -> {
+                log.info("시스템 예외 발생");
+                return Mono.error(new RuntimeException("시스템 예외"));
+            }
+            case NOT_ENOUGH_MONEY -> {
+                log.info("잔고 부족 비즈니스 예외 발생");
+                order.setPayStatus(PayStatus.WAITING);
+                return orderRepository.updatePayStatus(order)
+                        .then(orderRepository.savePendingPayment(order.getId(), Instant.now()))
+                        .thenReturn(order);
+            }
+            default -> {
+                log.info("정상 승인");
+                order.setPayStatus(PayStatus.COMPLETE);
+                return orderRepository.updatePayStatus(order).thenReturn(order);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package hello.springtx.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 리액티브 서비스 설정 (springtx.reactive.*). url 은 풀을 뺀 드라이버 URL 이고, 풀은 ReactiveConnections 가 maximumPoolSize 로 씌운다.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.reactive")
+public class ReactiveProperties {
+
+    private boolean enabled = false;
+    private String url = "r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1";
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+}
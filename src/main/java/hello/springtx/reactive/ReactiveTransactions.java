@@ -0,0 +1,46 @@
+package hello.springtx.reactive;
+
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * 리액티브 서비스가 쓰는 REQUIRED / REQUIRES_NEW 트랜잭션 경계.
+ *
+ * <p>ReactiveTransactionManager 는 빈으로 등록하지 않고 여기서만 쓴다.
+ * 빈으로 등록하면 한정자 없는 @Transactional 이 찾는 기본 TransactionManager 가 JpaTransactionManager 와 둘이 되어
+ * 기존 블로킹 서비스가 모두 실패한다.
+ */
+public class ReactiveTransactions {
+
+    private final TransactionalOperator required;
+    private final TransactionalOperator requiresNew;
+
+    public ReactiveTransactions(ReactiveTransactionManager transactionManager) {
+        this.required = TransactionalOperator.create(transactionManager,
+                attribute("reactive.required", TransactionDefinition.PROPAGATION_REQUIRED));
+        this.requiresNew = TransactionalOperator.create(transactionManager,
+                attribute("reactive.requiresNew", TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    /**
+     * 진행 중인 리액티브 트랜잭션이 있으면 참여하고 없으면 새로 연다.
+     */
+    public TransactionalOperator required() {
+        return required;
+    }
+
+    /**
+     * 진행 중인 트랜잭션을 보류하고 새 커넥션으로 별도 트랜잭션을 연다.
+     */
+    public TransactionalOperator requiresNew() {
+        return requiresNew;
+    }
+
+    private static DefaultTransactionAttribute attribute(String name, int propagation) {
+        DefaultTransactionAttribute attribute = new DefaultTransactionAttribute(propagation);
+        attribute.setName(name);
+        return attribute;
+    }
+}
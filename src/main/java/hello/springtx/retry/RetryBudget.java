@@ -0,0 +1,43 @@
+package hello.springtx.retry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 애플리케이션 전체의 재시도 예산 (토큰 버킷).
+ * 재시도 한 번에 토큰 하나를 쓰고, 성공 한 번에 successRefill 만큼 돌려받는다.
+ * 장애로 모든 호출이 실패할 때 재시도가 부하를 몇 배로 키우지 않도록 막는다.
+ */
+public class RetryBudget {
+
+    private static final int SCALE = 1_000;
+
+    private final int maxTokens;
+    private final int refillPerSuccess;
+    private final AtomicInteger tokens;
+
+    public RetryBudget(int maxTokens, double successRefill) {
+        this.maxTokens = maxTokens * SCALE;
+        this.refillPerSuccess = (int) (successRefill * SCALE);
+        this.tokens = new AtomicInteger(this.maxTokens);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        tokens.accumulateAndGet(refillPerSuccess, (current, refill) -> Math.min(maxTokens, current + refill));
+    }
+
+    public double available() {
+        return (double) tokens.get() / SCALE;
+    }
+}
@@ -0,0 +1,27 @@
+package hello.springtx.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 데드락, 락 타임아웃, 직렬화 실패 같은 일시적인 DB 오류가 나면 물리 트랜잭션 전체를 다시 실행한다.
+ * {@code @Transactional} 과 함께 붙이며, 재시도 advice 는 TransactionInterceptor 바깥에서 동작한다.
+ *
+ * <p>이미 바깥 트랜잭션이 있으면 재시도하지 않는다. 안쪽 논리 트랜잭션만 다시 실행해도
+ * 물리 트랜잭션은 rollback-only 로 표시되어 결국 UnexpectedRollbackException 이 난다 (BasicTxTest 참고).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryableTransaction {
+
+    /** 처음 실행을 포함한 최대 실행 횟수 */
+    int maxAttempts() default 3;
+
+    long initialBackoffMillis() default 20;
+
+    long maxBackoffMillis() default 1_000;
+}
@@ -0,0 +1,35 @@
+package hello.springtx.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * 트랜잭션 advisor 는 LOWEST_PRECEDENCE 이므로 재시도 advisor 는 그보다 앞(바깥)에 둔다.
+ * 커넥션 admission advisor 보다도 바깥이라 재시도 사이에는 커넥션 허가를 돌려준다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RetryableTransactionConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor retryableTransactionAdvisor(
+            @Value("${springtx.tx.retry.budget:100}") int budget,
+            @Value("${springtx.tx.retry.success-refill:0.1}") double successRefill,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        RetryableTransactionInterceptor interceptor = new RetryableTransactionInterceptor(
+                new TransientExceptionClassifier(), new RetryBudget(budget, successRefill), meterRegistry);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(RetryableTransaction.class), interceptor);
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return advisor;
+    }
+}
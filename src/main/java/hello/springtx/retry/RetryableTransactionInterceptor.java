@@ -0,0 +1,120 @@
+package hello.springtx.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link RetryableTransaction} 메서드를 TransactionInterceptor 바깥에서 감싸 일시적인 오류에 재시도한다.
+ *
+ * <p>메트릭: springtx.transaction.retry (method, outcome)
+ * <ul>
+ *     <li>retried : 재시도 한 번</li>
+ *     <li>recovered : 재시도 후 성공</li>
+ *     <li>exhausted : maxAttempts 를 다 쓰고 실패</li>
+ *     <li>budget_exhausted : 재시도 예산이 없어 실패</li>
+ *     <li>outer_transaction : 바깥 트랜잭션이 있어 재시도하지 않음</li>
+ * </ul>
+ */
+@Slf4j
+public class RetryableTransactionInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "springtx.transaction.retry";
+
+    private final TransientExceptionClassifier classifier;
+    private final RetryBudget budget;
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile MeterRegistry registry;
+    private final ConcurrentMap<Method, RetryableTransaction> attributeCache = new ConcurrentHashMap<>();
+
+    public RetryableTransactionInterceptor(TransientExceptionClassifier classifier, RetryBudget budget,
+                                           ObjectProvider<MeterRegistry> registryProvider) {
+        this.classifier = classifier;
+        this.budget = budget;
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = (invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null);
+        RetryableTransaction retryable = attributeCache.computeIfAbsent(method, m ->
+                AnnotatedElementUtils.findMergedAnnotation(AopUtils.getMostSpecificMethod(m, targetClass),
+                        RetryableTransaction.class));
+        if (retryable == null || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+
+        String name = ClassUtils.getQualifiedMethodName(method, targetClass);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.debug("바깥 트랜잭션이 있어 재시도하지 않음 method={}", name);
+            count(name, "outer_transaction");
+            return invocation.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = proxyInvocation.invocableClone().proceed();
+                budget.onSuccess();
+                if (attempt > 1) {
+                    count(name, "recovered");
+                }
+                return result;
+            } catch (Throwable ex) {
+                if (!classifier.isTransient(ex)) {
+                    throw ex;
+                }
+                if (attempt >= retryable.maxAttempts()) {
+                    log.warn("트랜잭션 재시도 횟수 초과 method={} attempts={}", name, attempt);
+                    count(name, "exhausted");
+                    throw ex;
+                }
+                if (!budget.tryAcquire()) {
+                    log.warn("트랜잭션 재시도 예산 없음 method={}", name);
+                    count(name, "budget_exhausted");
+                    throw ex;
+                }
+                long backoff = backoff(retryable, attempt);
+                log.info("일시적인 오류로 트랜잭션 재시도 method={} attempt={} backoff={}ms cause={}",
+                        name, attempt, backoff, ex.toString());
+                count(name, "retried");
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * 지수 백오프에 0.5 ~ 1.5 배 지터
+     */
+    private long backoff(RetryableTransaction retryable, int attempt) {
+        long exponential = retryable.initialBackoffMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(exponential, retryable.maxBackoffMillis());
+        return (long) (capped * (0.5 + ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * advisor 는 MeterRegistry 보다 먼저 만들어지므로 처음 기록할 때 찾는다.
+     */
+    private void count(String method, String outcome) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            meterRegistry = registryProvider.getIfAvailable();
+            if (meterRegistry == null) {
+                return;
+            }
+            registry = meterRegistry;
+        }
+        meterRegistry.counter(METRIC_NAME, "method", method, "outcome", outcome).increment();
+    }
+}
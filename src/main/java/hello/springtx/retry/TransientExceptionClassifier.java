@@ -0,0 +1,35 @@
+package hello.springtx.retry;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.Set;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+
+/**
+ * 다시 실행하면 성공할 수 있는 예외인지 판단한다. 원인(cause) 체인을 끝까지 따라간다.
+ */
+public class TransientExceptionClassifier {
+
+    /** 40001 직렬화 실패 / H2 데드락, 40P01 PostgreSQL 데드락, HYT00 H2 락 타임아웃 */
+    private static final Set<String> TRANSIENT_SQL_STATES = Set.of("40001", "40P01", "HYT00");
+
+    /** H2 DEADLOCK_1, LOCK_TIMEOUT_1 / MySQL 1213 데드락, 1205 락 대기 타임아웃 */
+    private static final Set<Integer> TRANSIENT_ERROR_CODES = Set.of(40001, 50200, 1213, 1205);
+
+    public boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof PessimisticLockingFailureException
+                    || cause instanceof SQLTransientException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && (TRANSIENT_ERROR_CODES.contains(sqlException.getErrorCode())
+                    || (sqlException.getSQLState() != null && TRANSIENT_SQL_STATES.contains(sqlException.getSQLState())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package hello.springtx.rollback;
+
+/**
+ * 체크 예외로 던지는 비즈니스 예외의 부모. 기본 규칙대로 트랜잭션은 커밋된다.
+ *
+ * <p>@Stackless 가 붙은 클래스는 fillInStackTrace 가 스택을 걷지 않아 예외 생성 비용이 메시지 객체 수준으로 줄어든다.
+ * 로그에는 예외 클래스와 메시지만 남는다. 스택이 필요하면 -Dspringtx.exception.stack-trace=true 로 JVM 을 띄운다.
+ */
+public abstract class BusinessException extends Exception {
+
+    private static final boolean FORCE_STACK_TRACE = Boolean.getBoolean("springtx.exception.stack-trace");
+
+    private static final ClassValue<Boolean> STACKLESS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return !FORCE_STACK_TRACE && type.isAnnotationPresent(Stackless.class);
+        }
+    };
+
+    protected BusinessException(String message) {
+        super(message);
+    }
+
+    protected BusinessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public boolean isStackless() {
+        return STACKLESS.get(getClass());
+    }
+
+    /**
+     * Throwable 생성자에서 불린다. 하위 클래스 필드가 아직 초기화되지 않았으므로 클래스 정보만 본다.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (isStackless()) {
+            return this;
+        }
+        return super.fillInStackTrace();
+    }
+}
@@ -0,0 +1,80 @@
+package hello.springtx.rollback;
+
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+
+/**
+ * 롤백 규칙 판정 결과를 예외 클래스별로 기억하는 RuleBasedTransactionAttribute.
+ *
+ * <p>기본 rollbackOn 은 예외가 날 때마다 모든 rollbackFor / noRollbackFor 규칙에 대해 예외 클래스 계층을 타고 올라가며 비교한다.
+ * 판정은 예외 클래스만으로 정해지므로 처음 본 클래스만 규칙으로 판정하고, 그 뒤로는 작은 배열에서 클래스 동일성 비교로 끝낸다.
+ * 배열은 새 클래스가 들어올 때만 복사해 바꾸므로(copy-on-write) 워밍업이 끝나면 쓰기 없이 읽기만 남는다.
+ * 한 메서드에서 MAX_TYPES 를 넘는 예외 클래스가 나오면 넘친 클래스는 기억하지 않고 매번 규칙으로 판정한다.
+ */
+public class CompiledRollbackRuleAttribute extends RuleBasedTransactionAttribute {
+
+    static final int MAX_TYPES = 16;
+
+    private volatile Decisions decisions = Decisions.EMPTY;
+
+    public CompiledRollbackRuleAttribute(RuleBasedTransactionAttribute other) {
+        super(other);
+    }
+
+    @Override
+    public boolean rollbackOn(Throwable ex) {
+        Class<?> type = ex.getClass();
+        Decisions current = decisions;
+        for (int i = 0; i < current.types.length; i++) {
+            if (current.types[i] == type) {
+                return current.rollback[i];
+            }
+        }
+        boolean rollback = super.rollbackOn(ex);
+        remember(type, rollback);
+        return rollback;
+    }
+
+    /**
+     * @return 판정을 기억하고 있는 예외 클래스 수
+     */
+    public int cachedTypes() {
+        return decisions.types.length;
+    }
+
+    private synchronized void remember(Class<?> type, boolean rollback) {
+        Decisions current = decisions;
+        if (current.types.length >= MAX_TYPES) {
+            return;
+        }
+        for (Class<?> cached : current.types) {
+            if (cached == type) {
+                return;
+            }
+        }
+        decisions = current.plus(type, rollback);
+    }
+
+    private static final class Decisions {
+
+        static final Decisions EMPTY = new Decisions(new Class<?>[0], new boolean[0]);
+
+        final Class<?>[] types;
+        final boolean[] rollback;
+
+        private Decisions(Class<?>[] types, boolean[] rollback) {
+            this.types = types;
+            this.rollback = rollback;
+        }
+
+        Decisions plus(Class<?> type, boolean decision) {
+            int size = types.length;
+            Class<?>[] newTypes = new Class<?>[size + 1];
+            boolean[] newRollback = new boolean[size + 1];
+            System.arraycopy(types, 0, newTypes, 0, size);
+            System.arraycopy(rollback, 0, newRollback, 0, size);
+            newTypes[size] = type;
+            newRollback[size] = decision;
+            return new Decisions(newTypes, newRollback);
+        }
+    }
+}
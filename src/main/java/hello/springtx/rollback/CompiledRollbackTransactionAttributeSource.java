@@ -0,0 +1,33 @@
+package hello.springtx.rollback;
+
+import java.lang.reflect.AnnotatedElement;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+/**
+ * 트랜잭션 애노테이션에서 읽은 속성을 CompiledRollbackRuleAttribute 로 바꿔 돌려주는 AnnotationTransactionAttributeSource.
+ *
+ * <p>바꾼 속성이 부모의 메서드별 속성 캐시에 그대로 들어가므로 메서드마다 판정 캐시가 하나씩 생기고, 호출 경로에는 비용이 더해지지 않는다.
+ */
+public class CompiledRollbackTransactionAttributeSource extends AnnotationTransactionAttributeSource {
+
+    public CompiledRollbackTransactionAttributeSource(boolean publicMethodsOnly) {
+        super(publicMethodsOnly);
+    }
+
+    @Override
+    @Nullable
+    protected TransactionAttribute determineTransactionAttribute(AnnotatedElement element) {
+        return compile(super.determineTransactionAttribute(element));
+    }
+
+    @Nullable
+    public static TransactionAttribute compile(@Nullable TransactionAttribute attribute) {
+        if (attribute instanceof RuleBasedTransactionAttribute rule && !(rule instanceof CompiledRollbackRuleAttribute)) {
+            return new CompiledRollbackRuleAttribute(rule);
+        }
+        return attribute;
+    }
+}
@@ -0,0 +1,42 @@
+package hello.springtx.rollback;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * springtx.tx.rollback-cache.enabled=true 이면 기본 트랜잭션 advisor 가 쓰는 transactionAttributeSource 빈을
+ * CompiledRollbackTransactionAttributeSource 로 바꿔 메서드별 롤백 판정을 캐시한다.
+ *
+ * <p>빈 정의 단계에서 바꾸므로 advisor 와 interceptor 는 처음부터 바뀐 source 를 주입받는다.
+ * 기본 설정(ProxyTransactionManagementConfiguration)과 같이 public 이 아닌 메서드도 대상으로 둔다.
+ * AspectJ 위빙 모드(springtx.tx.weaving.enabled=true)에는 이 빈이 없으므로 아무것도 하지 않는다.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.tx.rollback-cache", name = "enabled", havingValue = "true")
+public class RollbackRuleCacheConfig {
+
+    public static final String SOURCE_BEAN_NAME = "transactionAttributeSource";
+
+    @Bean
+    public static BeanFactoryPostProcessor compiledRollbackRulePostProcessor() {
+        return beanFactory -> {
+            if (!beanFactory.containsBeanDefinition(SOURCE_BEAN_NAME)) {
+                log.info("{} 빈이 없어 롤백 판정 캐시를 적용하지 않는다", SOURCE_BEAN_NAME);
+                return;
+            }
+            RootBeanDefinition definition = new RootBeanDefinition(CompiledRollbackTransactionAttributeSource.class);
+            definition.getConstructorArgumentValues().addIndexedArgumentValue(0, false);
+            definition.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+            BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+            registry.removeBeanDefinition(SOURCE_BEAN_NAME);
+            registry.registerBeanDefinition(SOURCE_BEAN_NAME, definition);
+        };
+    }
+}
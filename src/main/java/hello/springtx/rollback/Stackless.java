@@ -0,0 +1,19 @@
+package hello.springtx.rollback;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * BusinessException 하위 클래스에 붙이면 그 예외(와 하위 예외)는 만들 때 스택 트레이스를 채우지 않는다.
+ * 흐름 제어용으로 자주 던지고 스택을 볼 일이 없는 비즈니스 예외에만 붙인다.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Stackless {
+}
@@ -0,0 +1,14 @@
+package hello.springtx.shard;
+
+import org.springframework.transaction.TransactionUsageException;
+
+/**
+ * 한 샤드에 묶인 트랜잭션 안에서 다른 샤드의 트랜잭션을 시작하거나 참여하려 했다.
+ * 여러 샤드를 써야 하면 트랜잭션 밖에서 MultiShardTemplate 을 쓴다.
+ */
+public class CrossShardTransactionException extends TransactionUsageException {
+
+    public CrossShardTransactionException(int boundShard, int requestedShard) {
+        super("샤드 " + boundShard + " 트랜잭션 안에서 샤드 " + requestedShard + " 를 쓸 수 없습니다.");
+    }
+}
@@ -0,0 +1,59 @@
+package hello.springtx.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 여러 샤드에 걸친 작업의 best-effort 모드. 분산 트랜잭션이 아니다.
+ *
+ * <p>키를 샤드별로 묶어 샤드 번호 순서로 샤드마다 트랜잭션 하나씩 실행하고 바로 커밋한다.
+ * 중간 샤드에서 실패하면 그 샤드는 롤백되고 남은 샤드는 실행하지 않으며,
+ * 앞에서 커밋된 샤드는 PartialShardFailureException 으로 알려 줄 뿐 되돌리지 않는다.
+ * 보상 처리는 호출하는 쪽 몫이다.
+ */
+public class MultiShardTemplate {
+
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public MultiShardTemplate(ShardRouter shardRouter, PlatformTransactionManager shardTransactionManager) {
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(shardTransactionManager);
+        this.transactionTemplate.setName("shard.bestEffort");
+    }
+
+    /**
+     * @param work 샤드 번호와 그 샤드에 속한 키로 샤드 트랜잭션 안에서 실행된다
+     * @return 샤드 번호별 work 결과 (샤드 번호 순서)
+     */
+    public <T> Map<Integer, T> executeBestEffort(Collection<String> keys, BiFunction<Integer, List<String>, T> work) {
+        if (ShardContext.current() != null) {
+            throw new IllegalStateException("샤드가 이미 정해진 호출 안에서는 여러 샤드를 쓸 수 없습니다: shard=" + ShardContext.current());
+        }
+        Map<Integer, List<String>> keysByShard = new TreeMap<>();
+        for (String key : keys) {
+            keysByShard.computeIfAbsent(shardRouter.shardOf(key), shard -> new ArrayList<>()).add(key);
+        }
+
+        Map<Integer, T> results = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : keysByShard.entrySet()) {
+            int shard = entry.getKey();
+            List<String> shardKeys = entry.getValue();
+            try {
+                T result = shardRouter.callOnShard(shard,
+                        () -> transactionTemplate.execute(status -> work.apply(shard, shardKeys)));
+                results.put(shard, result);
+            } catch (RuntimeException e) {
+                throw new PartialShardFailureException(shard, new ArrayList<>(results.keySet()), e);
+            }
+        }
+        return results;
+    }
+}
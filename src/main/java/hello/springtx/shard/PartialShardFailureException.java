@@ -0,0 +1,20 @@
+package hello.springtx.shard;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * MultiShardTemplate 에서 failedShard 가 실패했다. committedShards 는 이미 커밋되어 되돌리지 않는다.
+ */
+@Getter
+public class PartialShardFailureException extends RuntimeException {
+
+    private final int failedShard;
+    private final List<Integer> committedShards;
+
+    public PartialShardFailureException(int failedShard, List<Integer> committedShards, Throwable cause) {
+        super("샤드 " + failedShard + " 실패, 이미 커밋된 샤드 " + committedShards, cause);
+        this.failedShard = failedShard;
+        this.committedShards = List.copyOf(committedShards);
+    }
+}
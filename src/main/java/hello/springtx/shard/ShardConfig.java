@@ -0,0 +1,102 @@
+package hello.springtx.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * springtx.shard.enabled=true 이면 회원 이름 / 주문자 이름으로 나눈 샤드 DB(springtx.shard.*) 위에
+ * 샤드 회원 / 주문 서비스를 올린다. 기존 JPA 엔티티와 DB 는 그대로다.
+ *
+ * <pre>
+ * ShardKeyInterceptor -> @Transactional(shardTransactionManager) -> ShardRoutingDataSource -> shard-0 .. shard-N (Hikari)
+ * </pre>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ShardProperties.class)
+@ConditionalOnProperty(prefix = "springtx.shard", name = "enabled", havingValue = "true")
+public class ShardConfig {
+
+    public static final String TRANSACTION_MANAGER = "shardTransactionManager";
+
+    /** 트랜잭션 advisor(LOWEST_PRECEDENCE) 보다 먼저 샤드를 정해야 하고, 재시도 / admission advisor 보다도 바깥에 둔다 */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 3;
+
+    @Bean
+    public static ShardRouter shardRouter(@Value("${springtx.shard.count:2}") int count) {
+        return new ShardRouter(count);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor shardKeyAdvisor(ShardRouter shardRouter) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ShardKeyInterceptor.ShardKeyPointcut(), new ShardKeyInterceptor(shardRouter));
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardProperties properties) {
+        return new ShardDataSources(properties);
+    }
+
+    @Bean(TRANSACTION_MANAGER)
+    public PlatformTransactionManager shardTransactionManager(ShardDataSources shardDataSources) {
+        return new ShardedTransactionManager(shardDataSources);
+    }
+
+    /**
+     * TransactionManager 빈이 하나라도 있으면 JPA 자동 구성의 transactionManager 가 만들어지지 않으므로 같은 것을 직접 등록한다.
+     * 한정자 없는 @Transactional 은 @Primary 인 이 JPA 트랜잭션 매니저를 쓴다.
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public MultiShardTemplate multiShardTemplate(ShardRouter shardRouter,
+                                                 @Qualifier(TRANSACTION_MANAGER) PlatformTransactionManager shardTransactionManager) {
+        return new MultiShardTemplate(shardRouter, shardTransactionManager);
+    }
+
+    @Bean
+    public ShardedMemberRepository shardedMemberRepository(ShardDataSources shardDataSources) {
+        return new ShardedMemberRepository(shardDataSources);
+    }
+
+    @Bean
+    public ShardedOrderRepository shardedOrderRepository(ShardDataSources shardDataSources) {
+        return new ShardedOrderRepository(shardDataSources);
+    }
+
+    @Bean
+    public ShardedOrderService shardedOrderService(ShardedOrderRepository shardedOrderRepository) {
+        return new ShardedOrderService(shardedOrderRepository);
+    }
+
+    @Bean
+    public ShardedMemberService shardedMemberService(ShardedMemberRepository shardedMemberRepository,
+                                                     ShardedOrderService shardedOrderService) {
+        return new ShardedMemberService(shardedMemberRepository, shardedOrderService);
+    }
+}
@@ -0,0 +1,48 @@
+package hello.springtx.shard;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 현재 스레드가 쓰는 샤드 번호. ShardRouter 와 @ShardKey advice 가 호출 동안만 정해 두고 되돌린다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    /** 진행 중인 샤드 트랜잭션의 샤드 번호를 TransactionSynchronizationManager 에 묶어 두는 키 (ShardedTransactionManager) */
+    static final Object TRANSACTION_SHARD = new Object();
+
+    private ShardContext() {
+    }
+
+    @Nullable
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return 이전 샤드 번호, 없으면 null. 호출이 끝나면 이 값으로 다시 bind 한다.
+     */
+    @Nullable
+    static Integer bind(@Nullable Integer shard) {
+        Integer previous = CURRENT.get();
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        return previous;
+    }
+
+    /**
+     * 진행 중인 샤드 트랜잭션이 다른 샤드에 묶여 있으면 CrossShardTransactionException.
+     * 트랜잭션 커넥션은 라우팅 DataSource 를 키로 묶여 있어서, 트랜잭션 없이 다른 샤드를 정해도 그 커넥션을 그대로 쓰기 때문이다.
+     */
+    static void checkTransactionShard(int shard) {
+        Integer bound = (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_SHARD);
+        if (bound != null && bound != shard) {
+            throw new CrossShardTransactionException(bound, shard);
+        }
+    }
+}
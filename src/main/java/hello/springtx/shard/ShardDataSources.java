@@ -0,0 +1,69 @@
+package hello.springtx.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * 샤드별 커넥션 풀과 그 앞의 라우팅 DataSource.
+ *
+ * <p>DataSource 빈으로 등록하지 않는다. DataSource 빈이 하나라도 있으면 spring.datasource.* 의 주 DataSource 가
+ * 자동 구성되지 않는다 (ReplicaDataSourceConfig 는 그래서 주 DataSource 도 직접 만든다).
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+    private final ShardRoutingDataSource routing;
+
+    public ShardDataSources(ShardProperties properties) {
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql"));
+        List<HikariDataSource> shards = new ArrayList<>(properties.getCount());
+        Map<Object, Object> targets = new HashMap<>();
+        try {
+            for (int i = 0; i < properties.getCount(); i++) {
+                HikariDataSource dataSource = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(String.format(properties.getUrlTemplate(), i))
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build();
+                dataSource.setPoolName("shard-" + i);
+                dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+                shards.add(dataSource);
+                DatabasePopulatorUtils.execute(schema, dataSource);
+                targets.put(i, dataSource);
+            }
+        } catch (RuntimeException e) {
+            shards.forEach(HikariDataSource::close);
+            throw e;
+        }
+        this.shards = List.copyOf(shards);
+        this.routing = new ShardRoutingDataSource();
+        this.routing.setTargetDataSources(targets);
+        this.routing.afterPropertiesSet();
+    }
+
+    public DataSource routing() {
+        return routing;
+    }
+
+    public DataSource shard(int shard) {
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
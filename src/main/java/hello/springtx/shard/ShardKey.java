@@ -0,0 +1,17 @@
+package hello.springtx.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 샤드를 고르는 String 파라미터 (회원 이름 / 주문자 이름).
+ * 메서드에 들어가기 전에 이 값의 샤드를 정하므로 같은 메서드의 샤드 {@code @Transactional} 은 그 샤드 하나에 묶인다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardKey {
+}
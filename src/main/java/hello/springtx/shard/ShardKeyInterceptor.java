@@ -0,0 +1,67 @@
+package hello.springtx.shard;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+/**
+ * {@link ShardKey} 파라미터 값으로 샤드를 정하고 메서드가 끝나면 이전 샤드로 되돌린다.
+ * 다른 샤드의 트랜잭션 안이면 메서드에 @Transactional 이 없어도 CrossShardTransactionException 으로 막는다.
+ */
+public class ShardKeyInterceptor implements MethodInterceptor {
+
+    private final ShardRouter shardRouter;
+    private final ConcurrentMap<Method, Integer> keyIndexCache = new ConcurrentHashMap<>();
+
+    public ShardKeyInterceptor(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        int index = keyIndexCache.computeIfAbsent(invocation.getMethod(), ShardKeyInterceptor::keyIndex);
+        if (index < 0) {
+            return invocation.proceed();
+        }
+        Object key = invocation.getArguments()[index];
+        if (!(key instanceof String name)) {
+            throw new IllegalArgumentException("@ShardKey 는 null 이 아닌 String 이어야 합니다: " + invocation.getMethod());
+        }
+
+        int shard = shardRouter.shardOf(name);
+        ShardContext.checkTransactionShard(shard);
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.bind(previous);
+        }
+    }
+
+    static int keyIndex(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @ShardKey 파라미터가 있는 메서드만 고른다.
+     */
+    static class ShardKeyPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return keyIndex(method) >= 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package hello.springtx.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 샤드 설정 (springtx.shard.*). 샤드 i 의 URL 은 urlTemplate 에 i 를 넣어 만든다.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.shard")
+public class ShardProperties {
+
+    private boolean enabled = false;
+    private int count = 2;
+    private String urlTemplate = "jdbc:h2:mem:shard%d;DB_CLOSE_DELAY=-1";
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+}
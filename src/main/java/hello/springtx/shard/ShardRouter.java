@@ -0,0 +1,62 @@
+package hello.springtx.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * 샤드 키(Member.name / Order.userName)를 샤드 번호로 바꾸고, 호출 동안 그 샤드를 현재 스레드에 정해 둔다.
+ *
+ * <p>샤드 번호는 hash(key) mod count 라서 샤드 수를 바꾸면 대부분의 키가 다른 샤드로 옮겨 간다.
+ * 재분배는 다루지 않는다.
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다: " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("샤드 키가 null 입니다.");
+        }
+        // String.hashCode 는 비슷한 키끼리 하위 비트가 몰리므로 murmur3 finalizer 로 섞는다
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shardCount);
+    }
+
+    /**
+     * key 의 샤드에서 work 를 실행한다. 안에서 시작하는 샤드 트랜잭션은 이 샤드에 묶인다.
+     */
+    public <T> T callInShard(String key, Supplier<T> work) {
+        return callOnShard(shardOf(key), work);
+    }
+
+    /**
+     * @throws CrossShardTransactionException 다른 샤드의 트랜잭션 안에서 호출했을 때
+     */
+    public <T> T callOnShard(int shard, Supplier<T> work) {
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("없는 샤드입니다: " + shard);
+        }
+        ShardContext.checkTransactionShard(shard);
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.bind(previous);
+        }
+    }
+}
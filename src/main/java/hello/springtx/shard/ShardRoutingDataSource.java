@@ -0,0 +1,20 @@
+package hello.springtx.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 현재 스레드의 샤드(ShardContext) 커넥션을 준다. 샤드가 정해지지 않았으면 실패한다.
+ * 트랜잭션 안에서는 ShardedTransactionManager 가 시작할 때 받은 커넥션을 계속 쓰므로 트랜잭션 시작 시점의 샤드가 끝까지 간다.
+ * 그 안에서 다른 샤드로 바꾸려는 호출(@ShardKey, ShardRouter.callOnShard)은 CrossShardTransactionException 으로 실패한다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalStateException("샤드가 정해지지 않았습니다. @ShardKey 또는 ShardRouter.callInShard 안에서 호출해야 합니다.");
+        }
+        return shard;
+    }
+}
@@ -0,0 +1,24 @@
+package hello.springtx.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 회원 이름의 샤드에 있는 member 테이블. 어느 샤드인지는 호출하는 쪽의 ShardContext 가 정한다.
+ */
+public class ShardedMemberRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShardedMemberRepository(ShardDataSources shardDataSources) {
+        this.jdbcTemplate = new JdbcTemplate(shardDataSources.routing());
+    }
+
+    public void save(String name) {
+        jdbcTemplate.update("insert into member (name) values (?)", name);
+    }
+
+    public long countByName(String name) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from member where name = ?", Long.class, name);
+        return count == null ? 0 : count;
+    }
+}
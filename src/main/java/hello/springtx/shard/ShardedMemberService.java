@@ -0,0 +1,34 @@
+package hello.springtx.shard;
+
+import hello.springtx.order.PayStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 회원 이름으로 샤드를 골라 그 샤드의 트랜잭션 하나에서 처리한다.
+ */
+@RequiredArgsConstructor
+public class ShardedMemberService {
+
+    private final ShardedMemberRepository memberRepository;
+    private final ShardedOrderService orderService;
+
+    @Transactional(transactionManager = ShardConfig.TRANSACTION_MANAGER)
+    public void join(@ShardKey String name) {
+        memberRepository.save(name);
+    }
+
+    /**
+     * 회원과 첫 주문을 한 트랜잭션으로 저장한다. 주문도 같은 이름을 키로 쓰므로 같은 샤드 트랜잭션에 참여한다.
+     */
+    @Transactional(transactionManager = ShardConfig.TRANSACTION_MANAGER)
+    public void joinWithOrder(@ShardKey String name) {
+        memberRepository.save(name);
+        orderService.order(name, PayStatus.WAITING);
+    }
+
+    @Transactional(transactionManager = ShardConfig.TRANSACTION_MANAGER, readOnly = true)
+    public boolean exists(@ShardKey String name) {
+        return memberRepository.countByName(name) > 0;
+    }
+}
@@ -0,0 +1,26 @@
+package hello.springtx.shard;
+
+import hello.springtx.order.PayStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 주문자 이름의 샤드에 있는 orders 테이블. 회원과 같은 키를 쓰므로 회원과 그 주문은 항상 같은 샤드에 있다.
+ */
+public class ShardedOrderRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShardedOrderRepository(ShardDataSources shardDataSources) {
+        this.jdbcTemplate = new JdbcTemplate(shardDataSources.routing());
+    }
+
+    public void save(String userName, PayStatus payStatus) {
+        jdbcTemplate.update("insert into orders (user_name, pay_status) values (?, ?)",
+                userName, String.valueOf(payStatus.getCode()));
+    }
+
+    public long countByUserName(String userName) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from orders where user_name = ?", Long.class, userName);
+        return count == null ? 0 : count;
+    }
+}
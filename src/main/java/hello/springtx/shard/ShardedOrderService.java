@@ -0,0 +1,21 @@
+package hello.springtx.shard;
+
+import hello.springtx.order.PayStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class ShardedOrderService {
+
+    private final ShardedOrderRepository orderRepository;
+
+    @Transactional(transactionManager = ShardConfig.TRANSACTION_MANAGER)
+    public void order(@ShardKey String userName, PayStatus payStatus) {
+        orderRepository.save(userName, payStatus);
+    }
+
+    @Transactional(transactionManager = ShardConfig.TRANSACTION_MANAGER, readOnly = true)
+    public long countOrders(@ShardKey String userName) {
+        return orderRepository.countByUserName(userName);
+    }
+}
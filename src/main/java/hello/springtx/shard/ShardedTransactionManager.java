@@ -0,0 +1,72 @@
+package hello.springtx.shard;
+
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션마다 샤드 하나를 정해 그 샤드의 커넥션 하나로 끝까지 간다.
+ *
+ * <ul>
+ *   <li>시작할 때 현재 샤드(ShardContext)가 없으면 IllegalTransactionStateException.</li>
+ *   <li>진행 중인 샤드 트랜잭션이 있는데 다른 샤드로 들어오면 전파 속성과 상관없이 CrossShardTransactionException.
+ *       REQUIRES_NEW 로 다른 샤드를 여는 것도 막는다. 바깥이 롤백되면 안쪽 샤드만 커밋된 채로 남기 때문이다.</li>
+ *   <li>같은 샤드 안의 REQUIRED / REQUIRES_NEW / NESTED 는 DataSourceTransactionManager 와 같다.</li>
+ * </ul>
+ */
+public class ShardedTransactionManager extends DataSourceTransactionManager {
+
+    public ShardedTransactionManager(ShardDataSources shardDataSources) {
+        super(shardDataSources.routing());
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        Integer bound = (Integer) TransactionSynchronizationManager.getResource(ShardContext.TRANSACTION_SHARD);
+        Integer requested = ShardContext.current();
+        if (bound != null && requested != null && !bound.equals(requested)) {
+            throw new CrossShardTransactionException(bound, requested);
+        }
+        return super.doGetTransaction();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalTransactionStateException("샤드가 정해지지 않아 트랜잭션을 시작할 수 없습니다: " + definition.getName());
+        }
+        super.doBegin(transaction, definition);
+        TransactionSynchronizationManager.bindResource(ShardContext.TRANSACTION_SHARD, shard);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        Object connectionHolder = super.doSuspend(transaction);
+        return new SuspendedShard(connectionHolder,
+                (Integer) TransactionSynchronizationManager.unbindResourceIfPossible(ShardContext.TRANSACTION_SHARD));
+    }
+
+    @Override
+    protected void doResume(@Nullable Object transaction, Object suspendedResources) {
+        SuspendedShard suspended = (SuspendedShard) suspendedResources;
+        super.doResume(transaction, suspended.connectionHolder());
+        if (suspended.shard() != null) {
+            TransactionSynchronizationManager.bindResource(ShardContext.TRANSACTION_SHARD, suspended.shard());
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShardContext.TRANSACTION_SHARD);
+        }
+    }
+
+    private record SuspendedShard(Object connectionHolder, @Nullable Integer shard) {
+    }
+}
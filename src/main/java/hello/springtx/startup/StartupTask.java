@@ -0,0 +1,50 @@
+package hello.springtx.startup;
+
+/**
+ * 시작할 때 한 번 실행하는 초기화 작업 (캐시 미리 채우기, 스키마 확인 등).
+ * 빈으로 등록하면 StartupTaskRunner 가 다른 작업과 병렬로, 작업마다 별도 트랜잭션 안에서 실행한다.
+ *
+ * <p>{@code @PostConstruct} 에서는 트랜잭션 프록시를 탈 수 없고(InitTxTest.initV1),
+ * ApplicationReadyEvent 리스너(initV2)는 메인 스레드에서 하나씩 돌며 readiness 를 늦춘다.
+ */
+public interface StartupTask {
+
+    String getName();
+
+    void run();
+
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * true 면 이 작업이 실패했을 때 애플리케이션 시작이 실패한다. false 면 경고만 남긴다.
+     */
+    default boolean isRequired() {
+        return true;
+    }
+
+    static StartupTask of(String name, boolean readOnly, boolean required, Runnable work) {
+        return new StartupTask() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void run() {
+                work.run();
+            }
+
+            @Override
+            public boolean isReadOnly() {
+                return readOnly;
+            }
+
+            @Override
+            public boolean isRequired() {
+                return required;
+            }
+        };
+    }
+}
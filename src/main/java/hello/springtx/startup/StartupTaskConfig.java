@@ -0,0 +1,41 @@
+package hello.springtx.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StartupTaskProperties.class)
+public class StartupTaskConfig {
+
+    @Bean
+    public StartupTaskRunner startupTaskRunner(ObjectProvider<StartupTask> tasks,
+                                               PlatformTransactionManager transactionManager,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               StartupTaskProperties properties) {
+        return new StartupTaskRunner(tasks, transactionManager, meterRegistry, properties);
+    }
+
+    /**
+     * 엔티티마다 한 행을 읽어 테이블과 컬럼 매핑이 맞는지 확인한다. 커넥션 풀과 Hibernate 쿼리 계획 캐시도 같이 데워진다.
+     * springtx.startup.schema-validation=true 일 때만 돈다. 읽기 전용으로 열면 replica(springtx.datasource.replica)로
+     * 라우팅되므로 primary 의 스키마를 보도록 쓰기 트랜잭션으로 연다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "springtx.startup", name = "schema-validation", havingValue = "true")
+    public StartupTask schemaValidationTask(EntityManager em) {
+        return StartupTask.of("schema.validate", false, true, () -> {
+            for (EntityType<?> entity : em.getMetamodel().getEntities()) {
+                em.createQuery("select e from " + entity.getName() + " e", entity.getJavaType())
+                        .setMaxResults(1)
+                        .getResultList();
+            }
+        });
+    }
+}
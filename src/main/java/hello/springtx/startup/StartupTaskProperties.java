@@ -0,0 +1,23 @@
+package hello.springtx.startup;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 시작 작업 설정 (springtx.startup.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.startup")
+public class StartupTaskProperties {
+
+    /** 동시에 실행할 작업 수. 작업마다 커넥션을 하나씩 쓰므로 커넥션 풀보다 작게 둔다 */
+    private int parallelism = 4;
+
+    /** 모든 작업을 기다리는 최대 시간, 넘긴 작업은 중단하고 실패로 본다 */
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /** true 이면 엔티티 매핑 확인(schema.validate)을 필수 작업으로 추가한다 */
+    private boolean schemaValidation = false;
+}
@@ -0,0 +1,14 @@
+package hello.springtx.startup;
+
+import java.time.Duration;
+import org.springframework.lang.Nullable;
+
+/**
+ * @param failure 실패했으면 원인, 제한 시간을 넘겼으면 TimeoutException
+ */
+public record StartupTaskResult(String name, Duration elapsed, boolean required, @Nullable Throwable failure) {
+
+    public boolean succeeded() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,164 @@
+package hello.springtx.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * StartupTask 빈들을 싱글톤 생성이 끝나자마자(SmartInitializingSingleton) parallelism 개 스레드에서 병렬로 시작하고,
+ * ApplicationStartedEvent 에서 모두 끝날 때까지 기다린다.
+ *
+ * <p>스프링 부트는 ApplicationStartedEvent 리스너가 끝난 뒤에 ApplicationReadyEvent 와 readiness ACCEPTING_TRAFFIC 을 내므로
+ * 작업이 끝나기 전에는 readiness 가 REFUSING_TRAFFIC 이다. 작업은 컨텍스트의 나머지 시작(웹 서버, 스케줄러 등)과 겹쳐 돈다.
+ * 필수 작업이 실패하거나 timeout 을 넘기면 시작이 실패한다.
+ */
+@Slf4j
+public class StartupTaskRunner implements SmartInitializingSingleton, ApplicationListener<ApplicationStartedEvent>,
+        DisposableBean {
+
+    private final ObjectProvider<StartupTask> tasks;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final StartupTaskProperties properties;
+
+    private ExecutorService executor;
+    private List<Running> running = List.of();
+    private long startedAt;
+    private volatile List<StartupTaskResult> results = List.of();
+
+    public StartupTaskRunner(ObjectProvider<StartupTask> tasks, PlatformTransactionManager transactionManager,
+                             ObjectProvider<MeterRegistry> meterRegistry, StartupTaskProperties properties) {
+        this.tasks = tasks;
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<StartupTask> startupTasks = tasks.orderedStream().toList();
+        if (startupTasks.isEmpty()) {
+            return;
+        }
+        int threads = Math.max(1, Math.min(properties.getParallelism(), startupTasks.size()));
+        executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("startup-task-"));
+        startedAt = System.nanoTime();
+        List<Running> submitted = new ArrayList<>(startupTasks.size());
+        for (StartupTask task : startupTasks) {
+            submitted.add(new Running(task, executor.submit(() -> run(task))));
+        }
+        running = submitted;
+        log.info("시작 작업 tasks={}, threads={}", startupTasks.size(), threads);
+    }
+
+    private StartupTaskResult run(StartupTask task) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setName("startup." + task.getName());
+        transactionTemplate.setReadOnly(task.isReadOnly());
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> task.run());
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+        return new StartupTaskResult(task.getName(), Duration.ofNanos(System.nanoTime() - start), task.isRequired(), failure);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        List<Running> pending = running;
+        if (pending.isEmpty()) {
+            return;
+        }
+        running = List.of();
+
+        long deadline = startedAt + properties.getTimeout().toNanos();
+        List<StartupTaskResult> done = new ArrayList<>(pending.size());
+        try {
+            for (Running task : pending) {
+                done.add(await(task, deadline));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        results = List.copyOf(done);
+        report(done);
+    }
+
+    private StartupTaskResult await(Running task, long deadline) {
+        try {
+            return task.future().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.future().cancel(true);
+            return new StartupTaskResult(task.task().getName(), properties.getTimeout(), task.task().isRequired(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("시작 작업을 기다리다 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            // run 이 예외를 모두 결과로 바꾸므로 여기에 오지 않는다
+            return new StartupTaskResult(task.task().getName(), Duration.ZERO, task.task().isRequired(), e.getCause());
+        }
+    }
+
+    private void report(List<StartupTaskResult> done) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        Throwable requiredFailure = null;
+        List<String> failedRequired = new ArrayList<>();
+        for (StartupTaskResult result : done) {
+            if (result.succeeded()) {
+                log.info("시작 작업 완료 name={}, elapsed={}ms", result.name(), result.elapsed().toMillis());
+            } else {
+                log.warn("시작 작업 실패 name={}, elapsed={}ms, required={}",
+                        result.name(), result.elapsed().toMillis(), result.required(), result.failure());
+                if (result.required()) {
+                    failedRequired.add(result.name());
+                    requiredFailure = (requiredFailure == null ? result.failure() : requiredFailure);
+                }
+            }
+            if (registry != null) {
+                Timer.builder("springtx.startup.task")
+                        .tag("name", result.name())
+                        .tag("outcome", result.succeeded() ? "success" : "failure")
+                        .register(registry)
+                        .record(result.elapsed());
+            }
+        }
+        log.info("시작 작업 전체 elapsed={}ms", Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        if (!failedRequired.isEmpty()) {
+            throw new IllegalStateException("필수 시작 작업이 실패했습니다: " + failedRequired, requiredFailure);
+        }
+    }
+
+    public List<StartupTaskResult> getResults() {
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        // 시작 도중 컨텍스트가 닫히면 ApplicationStartedEvent 가 오지 않는다
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private record Running(StartupTask task, Future<StartupTaskResult> future) {
+    }
+}
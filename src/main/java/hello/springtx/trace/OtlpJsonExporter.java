@@ -0,0 +1,99 @@
+package hello.springtx.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * span 을 OpenTelemetry OTLP/JSON(ExportTraceServiceRequest) 모양으로 바꾼다.
+ * 만든 파일은 OpenTelemetry Collector 의 otlpjsonfile receiver 나 Jaeger 가져오기로 그대로 읽을 수 있다.
+ */
+public class OtlpJsonExporter {
+
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_OK = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final TransactionTracer tracer;
+    private final ObjectMapper objectMapper;
+    private final String serviceName;
+
+    public OtlpJsonExporter(TransactionTracer tracer, ObjectMapper objectMapper, String serviceName) {
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.serviceName = serviceName;
+    }
+
+    public Map<String, Object> toOtlp(List<TransactionSpan> spans) {
+        List<Map<String, Object>> otlpSpans = new ArrayList<>(spans.size());
+        for (TransactionSpan span : spans) {
+            otlpSpans.add(toOtlp(span));
+        }
+        Map<String, Object> scopeSpans = new LinkedHashMap<>();
+        scopeSpans.put("scope", Map.of("name", TransactionTracer.class.getName()));
+        scopeSpans.put("spans", otlpSpans);
+
+        Map<String, Object> resourceSpans = new LinkedHashMap<>();
+        resourceSpans.put("resource", Map.of("attributes", List.of(attribute("service.name", serviceName))));
+        resourceSpans.put("scopeSpans", List.of(scopeSpans));
+        return Map.of("resourceSpans", List.of(resourceSpans));
+    }
+
+    /**
+     * 파일을 새로 써서 span 을 내보낸다. 같은 파일에 다시 내보내면 덮어쓴다.
+     */
+    public Path export(List<TransactionSpan> spans, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writeValue(file.toFile(), toOtlp(spans));
+        return file;
+    }
+
+    private Map<String, Object> toOtlp(TransactionSpan span) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("traceId", span.getTraceId());
+        result.put("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            result.put("parentSpanId", span.getParentSpanId());
+        }
+        result.put("name", span.getName());
+        result.put("kind", SPAN_KIND_INTERNAL);
+        // OTLP/JSON 은 64 비트 정수를 문자열로 쓴다
+        result.put("startTimeUnixNano", String.valueOf(tracer.toEpochNanos(span.startNanos)));
+        result.put("endTimeUnixNano", String.valueOf(tracer.toEpochNanos(span.startNanos + span.getDurationNanos())));
+        result.put("attributes", List.of(
+                attribute("tx.propagation", span.getPropagation()),
+                attribute("tx.read_only", span.isReadOnly()),
+                attribute("tx.physical", span.isPhysical()),
+                attribute("tx.outcome", span.getOutcome())));
+
+        List<Map<String, Object>> events = new ArrayList<>(span.getEvents().size());
+        for (TransactionSpan.Event event : span.getEvents()) {
+            Map<String, Object> otlpEvent = new LinkedHashMap<>();
+            otlpEvent.put("timeUnixNano", String.valueOf(tracer.toEpochNanos(event.nanos())));
+            otlpEvent.put("name", event.name());
+            if (event.detail() != null) {
+                otlpEvent.put("attributes", List.of(attribute("tx.name", event.detail())));
+            }
+            events.add(otlpEvent);
+        }
+        result.put("events", events);
+        result.put("status", Map.of("code", "commit".equals(span.getOutcome()) ? STATUS_CODE_OK : STATUS_CODE_ERROR));
+        return result;
+    }
+
+    private static Map<String, Object> attribute(String key, String value) {
+        return Map.of("key", key, "value", Map.of("stringValue", value));
+    }
+
+    private static Map<String, Object> attribute(String key, boolean value) {
+        return Map.of("key", key, "value", Map.of("boolValue", value));
+    }
+}
@@ -0,0 +1,53 @@
+package hello.springtx.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 끝난 span 을 담는 고정 크기 ring buffer. 락 없이 시퀀스 하나로 슬롯을 나눠 가지고 가장 오래된 것부터 덮어쓴다.
+ * snapshot 은 읽는 동안 덮어써진 슬롯을 새 span 으로 볼 수 있다. 진단용이라 정확한 순서까지는 보장하지 않는다.
+ */
+final class SpanRingBuffer {
+
+    private final AtomicReferenceArray<TransactionSpan> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    SpanRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 는 0 보다 커야 한다: " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(1, capacity - 1)));
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(TransactionSpan span) {
+        slots.set((int) (sequence.getAndIncrement() & mask), span);
+    }
+
+    List<TransactionSpan> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(0, end - slots.length());
+        List<TransactionSpan> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            TransactionSpan span = slots.get((int) (i & mask));
+            if (span != null) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,114 @@
+package hello.springtx.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * 새로 시작한 트랜잭션 하나(= getTransaction ~ commit/rollback)의 기록.
+ * physical 이면 실제 커넥션 트랜잭션을 시작한 span 이고, NESTED savepoint 는 physical=false 로 같은 trace 에 남는다.
+ *
+ * <p>트랜잭션은 스레드에 묶여 있으므로 span 은 끝날 때까지 한 스레드에서만 고친다.
+ * 끝난 span 은 ring buffer 에 volatile 쓰기로 게시되고 그 뒤로는 바뀌지 않는다.
+ */
+public final class TransactionSpan {
+
+    final long traceIdHigh;
+    final long traceIdLow;
+    final long spanId;
+    final long parentSpanId;
+    final String name;
+    final String propagation;
+    final boolean readOnly;
+    final boolean physical;
+    final boolean suspendsParent;
+    final long startNanos;
+
+    /** 진행 중일 때만 잡고 있는 부모. 끝나면 끊어서 ring buffer 가 트리 전체를 붙잡지 않게 한다. */
+    @Nullable TransactionSpan parent;
+    private List<Event> events;
+    private long endNanos;
+    private String outcome;
+    /** 리스너가 끝 알림 전에 본 것. TransactionOutcome 을 정하는 데만 쓴다. */
+    boolean commitRequested;
+    boolean rollbackOnly;
+
+    TransactionSpan(long traceIdHigh, long traceIdLow, long spanId, @Nullable TransactionSpan parent, String name,
+                    String propagation, boolean readOnly, boolean physical, boolean suspendsParent, long startNanos) {
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.parent = parent;
+        this.parentSpanId = (parent != null ? parent.spanId : 0L);
+        this.name = name;
+        this.propagation = propagation;
+        this.readOnly = readOnly;
+        this.physical = physical;
+        this.suspendsParent = suspendsParent;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * suspend, resume, savepoint, rollback_only 같은 시점을 남긴다.
+     */
+    public void event(String name) {
+        event(name, null);
+    }
+
+    public void event(String name, @Nullable String detail) {
+        if (events == null) {
+            events = new ArrayList<>(4);
+        }
+        events.add(new Event(name, System.nanoTime(), detail));
+    }
+
+    void end(long endNanos, String outcome) {
+        this.endNanos = endNanos;
+        this.outcome = outcome;
+        this.parent = null;
+    }
+
+    public String getTraceId() {
+        return String.format("%016x%016x", traceIdHigh, traceIdLow);
+    }
+
+    public String getSpanId() {
+        return String.format("%016x", spanId);
+    }
+
+    @Nullable
+    public String getParentSpanId() {
+        return (parentSpanId != 0L ? String.format("%016x", parentSpanId) : null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPropagation() {
+        return propagation;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public boolean isPhysical() {
+        return physical;
+    }
+
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public List<Event> getEvents() {
+        return (events != null ? events : List.of());
+    }
+
+    public record Event(String name, long nanos, @Nullable String detail) {
+    }
+}
@@ -0,0 +1,37 @@
+package hello.springtx.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * springtx.tx.trace.enabled=true 이면 TransactionTracer 를 등록한다.
+ * TransactionTracer 는 TransactionExecutionListener 라서 TransactionMetricsConfig 가 모든 트랜잭션 매니저에 붙인다.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TransactionTraceProperties.class)
+@ConditionalOnProperty(prefix = "springtx.tx.trace", name = "enabled", havingValue = "true")
+public class TransactionTraceConfig {
+
+    @Bean
+    public TransactionTracer transactionTracer(TransactionTraceProperties properties) {
+        return new TransactionTracer(properties.getBufferSize());
+    }
+
+    @Bean
+    public OtlpJsonExporter otlpJsonExporter(TransactionTracer transactionTracer, ObjectMapper objectMapper,
+                                             @Value("${spring.application.name:springtx}") String serviceName) {
+        return new OtlpJsonExporter(transactionTracer, objectMapper, serviceName);
+    }
+
+    @Bean
+    public TransactionTraceEndpoint transactionTraceEndpoint(TransactionTracer transactionTracer,
+                                                             OtlpJsonExporter otlpJsonExporter,
+                                                             TransactionTraceProperties properties) {
+        return new TransactionTraceEndpoint(transactionTracer, otlpJsonExporter, Path.of(properties.getFile()));
+    }
+}
@@ -0,0 +1,42 @@
+package hello.springtx.trace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * /actuator/txtrace
+ * <ul>
+ *     <li>GET : ring buffer 에 남은 span 을 OTLP/JSON 으로 돌려준다</li>
+ *     <li>POST : springtx.tx.trace.file 로 내보낸다</li>
+ *     <li>DELETE : ring buffer 를 비운다</li>
+ * </ul>
+ */
+@Endpoint(id = "txtrace")
+@RequiredArgsConstructor
+public class TransactionTraceEndpoint {
+
+    private final TransactionTracer tracer;
+    private final OtlpJsonExporter exporter;
+    private final Path file;
+
+    @ReadOperation
+    public Map<String, Object> spans() {
+        return exporter.toOtlp(tracer.snapshot());
+    }
+
+    @WriteOperation
+    public Map<String, Object> export() throws IOException {
+        return Map.of("file", exporter.export(tracer.snapshot(), file).toAbsolutePath().toString());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        tracer.clear();
+    }
+}
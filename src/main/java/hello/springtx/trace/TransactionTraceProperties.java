@@ -0,0 +1,21 @@
+package hello.springtx.trace;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 트랜잭션 trace 설정 (springtx.tx.trace.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "springtx.tx.trace")
+public class TransactionTraceProperties {
+
+    private boolean enabled = false;
+
+    /** ring buffer 에 남길 span 수. 2 의 거듭제곱으로 올림한다. */
+    private int bufferSize = 4_096;
+
+    /** /actuator/txtrace POST 로 내보낼 OTLP/JSON 파일 */
+    private String file = "tx-trace.json";
+}
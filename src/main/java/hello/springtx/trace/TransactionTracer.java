@@ -0,0 +1,170 @@
+package hello.springtx.trace;
+
+import hello.springtx.metrics.TransactionKind;
+import hello.springtx.metrics.TransactionOutcome;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * 스레드별 트랜잭션 스택으로 propagation 트리를 만든다.
+ * 스레드에 진행 중인 span 이 없을 때 시작한 트랜잭션이 새 trace 의 root 가 되고, 안에서 시작한 트랜잭션은 그 자식이 된다.
+ * REQUIRES_NEW 가 바깥 트랜잭션을 보류하면 바깥 span 에 suspend / resume 이벤트가 남는다.
+ *
+ * <p>트랜잭션 매니저의 TransactionExecutionListener 로 기록하므로 새로 시작한 물리 트랜잭션과 NESTED savepoint 만 span 이 되고,
+ * 참여한 REQUIRED 는 span 을 남기지 않는다. 참여한 쪽의 롤백은 물리 트랜잭션 span 의 rollback_only 이벤트와
+ * unexpected_rollback outcome 으로 보인다.
+ * span 의 propagation 칸에는 TransactionKind(new / suspending / savepoint)를 남긴다.
+ *
+ * <p>기록 비용은 span 객체 하나와 이벤트 몇 개뿐이고 문자열 포맷은 export 할 때만 한다.
+ */
+public class TransactionTracer implements TransactionExecutionListener {
+
+    private final SpanRingBuffer spans;
+    private final ThreadLocal<ArrayDeque<TransactionSpan>> current = ThreadLocal.withInitial(ArrayDeque::new);
+    /** System.nanoTime 을 epoch 나노초로 바꾸는 보정값 */
+    private final long epochOffsetNanos;
+
+    public TransactionTracer(int capacity) {
+        this.spans = new SpanRingBuffer(capacity);
+        Instant now = Instant.now();
+        this.epochOffsetNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano() - System.nanoTime();
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        TransactionKind kind = TransactionKind.of(transaction);
+        begin(transaction.getTransactionName(), kind.getTag(), transaction.isReadOnly(), kind.isPhysical(),
+                kind == TransactionKind.SAVEPOINT, kind == TransactionKind.SUSPENDING, System.nanoTime());
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null) {
+            endCurrent(TransactionOutcome.ERROR.getTag());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        endCurrent(TransactionOutcome.ofCommit(commitFailure).getTag());
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        TransactionSpan span = currentSpan();
+        if (span != null) {
+            span.commitRequested = true;
+        }
+    }
+
+    @Override
+    public void beforeRollback(TransactionExecution transaction) {
+        TransactionSpan span = currentSpan();
+        if (span != null && transaction.isRollbackOnly()) {
+            span.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * commit 을 요청했는데 롤백되었으면 참여한 트랜잭션이 rollback-only 로 표시한 것이므로 rollback_only 이벤트를 남긴다.
+     */
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        TransactionSpan span = currentSpan();
+        if (span != null) {
+            if (span.commitRequested || span.rollbackOnly) {
+                span.event("rollback_only");
+            }
+            end(span, TransactionOutcome.ofRollback(span.commitRequested, span.rollbackOnly, rollbackFailure).getTag());
+        }
+    }
+
+    /**
+     * 트랜잭션은 시작한 스레드에서 안쪽부터 끝나므로 끝 알림은 항상 가장 안쪽 span 의 것이다.
+     */
+    private void endCurrent(String outcome) {
+        TransactionSpan span = currentSpan();
+        if (span != null) {
+            end(span, outcome);
+        }
+    }
+
+    public TransactionSpan begin(String name, String propagation, boolean readOnly, boolean physical,
+                                 boolean nested, boolean suspendsParent, long startNanos) {
+        ArrayDeque<TransactionSpan> stack = current.get();
+        TransactionSpan parent = stack.peek();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long traceIdHigh = (parent != null ? parent.traceIdHigh : random.nextLong());
+        long traceIdLow = (parent != null ? parent.traceIdLow : random.nextLong());
+
+        TransactionSpan span = new TransactionSpan(traceIdHigh, traceIdLow, nonZero(random.nextLong()), parent,
+                name, propagation, readOnly, physical, suspendsParent && parent != null, startNanos);
+        if (span.suspendsParent) {
+            parent.event("suspend", name);
+        }
+        if (nested) {
+            span.event("savepoint");
+        }
+        stack.push(span);
+        return span;
+    }
+
+    public void end(TransactionSpan span, String outcome) {
+        TransactionSpan parent = span.parent;
+        ArrayDeque<TransactionSpan> stack = current.get();
+        if (stack.peek() == span) {
+            stack.pop();
+        } else {
+            stack.removeFirstOccurrence(span);
+        }
+        if (stack.isEmpty()) {
+            current.remove();
+        }
+        span.end(System.nanoTime(), outcome);
+        if (span.suspendsParent && parent != null) {
+            parent.event("resume", span.name);
+        }
+        spans.add(span);
+    }
+
+    /**
+     * 현재 스레드에서 진행 중인 가장 안쪽 span
+     */
+    @Nullable
+    public TransactionSpan currentSpan() {
+        ArrayDeque<TransactionSpan> stack = current.get();
+        TransactionSpan span = stack.peek();
+        if (span == null) {
+            current.remove();
+        }
+        return span;
+    }
+
+    /**
+     * 끝난 span 을 오래된 것부터 돌려준다.
+     */
+    public List<TransactionSpan> snapshot() {
+        return spans.snapshot();
+    }
+
+    public void clear() {
+        spans.clear();
+    }
+
+    public int capacity() {
+        return spans.capacity();
+    }
+
+    long toEpochNanos(long nanos) {
+        return epochOffsetNanos + nanos;
+    }
+
+    private static long nonZero(long id) {
+        return (id != 0L ? id : 1L);
+    }
+}
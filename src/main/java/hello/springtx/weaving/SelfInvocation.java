@@ -0,0 +1,18 @@
+package hello.springtx.weaving;
+
+import java.lang.reflect.Method;
+
+/**
+ * type 의 caller 메서드(line 줄)가 this 로 @Transactional 메서드 callee 를 부른다.
+ * 프록시 모드에서는 callee 의 트랜잭션 속성이 적용되지 않는다.
+ *
+ * @param callerTransactional caller 자체가 @Transactional 이면 true. 이때 callee 는 caller 트랜잭션에 그대로 들어가고 자기 속성은 무시된다
+ */
+public record SelfInvocation(Class<?> type, String caller, int line, Method callee, boolean callerTransactional) {
+
+    @Override
+    public String toString() {
+        return type.getName() + "." + caller + "(line " + line + ") -> this." + callee.getName() + "()"
+                + (callerTransactional ? " [호출한 쪽 트랜잭션에 참여]" : " [트랜잭션 없음]");
+    }
+}
@@ -0,0 +1,90 @@
+package hello.springtx.weaving;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 클래스 바이트코드를 읽어 자기 클래스의 @Transactional 메서드를 직접 부르는 곳(InternalCallV1Test 의 external -> internal)을 찾는다.
+ *
+ * <p>호출 대상 타입이 자기 클래스인 invokevirtual / invokespecial 만 본다. 받는 객체가 정말 this 인지는 따지지 않지만
+ * 빈 클래스가 같은 클래스의 다른 인스턴스를 부르는 일은 드물다. 람다 안의 호출은 lambda$... 메서드로 보고된다.
+ */
+public class SelfInvocationAnalyzer {
+
+    private final TransactionAttributeSource transactionAttributeSource;
+
+    public SelfInvocationAnalyzer(TransactionAttributeSource transactionAttributeSource) {
+        this.transactionAttributeSource = transactionAttributeSource;
+    }
+
+    public List<SelfInvocation> analyze(Class<?> type) {
+        Map<String, Method> transactional = new HashMap<>();
+        Map<String, Method> declared = new HashMap<>();
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(type, ReflectionUtils.USER_DECLARED_METHODS)) {
+            String key = method.getName() + Type.getMethodDescriptor(method);
+            declared.put(key, method);
+            if (transactionAttributeSource.getTransactionAttribute(method, type) != null) {
+                transactional.put(key, method);
+            }
+        }
+        if (transactional.isEmpty()) {
+            return List.of();
+        }
+
+        List<SelfInvocation> found = new ArrayList<>();
+        String internalName = Type.getInternalName(type);
+        String resource = ClassUtils.convertClassNameToResourcePath(type.getName()) + ClassUtils.CLASS_FILE_SUFFIX;
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return List.of();
+            }
+            new ClassReader(in).accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION) {
+                @Override
+                public MethodVisitor visitMethod(int access, String callerName, String callerDescriptor,
+                                                 String signature, String[] exceptions) {
+                    Method caller = declared.get(callerName + callerDescriptor);
+                    boolean callerTransactional = (caller != null && transactional.containsValue(caller));
+                    return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+                        private int line;
+
+                        @Override
+                        public void visitLineNumber(int line, Label start) {
+                            this.line = line;
+                        }
+
+                        @Override
+                        public void visitMethodInsn(int opcode, String owner, String name, String descriptor,
+                                                    boolean isInterface) {
+                            if (opcode == Opcodes.INVOKESTATIC || !owner.equals(internalName)) {
+                                return;
+                            }
+                            Method callee = transactional.get(name + descriptor);
+                            if (callee != null) {
+                                found.add(new SelfInvocation(type, callerName, line, callee, callerTransactional));
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_FRAMES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,64 @@
+package hello.springtx.weaving;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 시작이 끝나면 hello.springtx 빈 클래스의 self-invocation 을 찾아 로그로 남긴다.
+ * 프록시 모드면 WARN (트랜잭션이 빠진다), 위빙 모드면 INFO (위빙된 코드가 직접 트랜잭션을 연다).
+ */
+@Slf4j
+public class SelfInvocationReport implements SmartInitializingSingleton {
+
+    private static final String BASE_PACKAGE = "hello.springtx.";
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final SelfInvocationAnalyzer analyzer = new SelfInvocationAnalyzer(new AnnotationTransactionAttributeSource(false));
+    private volatile List<SelfInvocation> findings = List.of();
+
+    public SelfInvocationReport(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<SelfInvocation> found = new ArrayList<>();
+        Set<Class<?>> seen = new HashSet<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isAbstract() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type == null) {
+                continue;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(type);
+            if (userClass.getName().startsWith(BASE_PACKAGE) && !userClass.isInterface() && seen.add(userClass)) {
+                found.addAll(analyzer.analyze(userClass));
+            }
+        }
+        findings = List.copyOf(found);
+
+        boolean woven = Weaving.isWoven();
+        for (SelfInvocation invocation : findings) {
+            if (woven) {
+                log.info("self-invocation (위빙 모드에서 트랜잭션 적용) {}", invocation);
+            } else {
+                log.warn("self-invocation 은 프록시를 거치지 않아 @Transactional 이 적용되지 않습니다: {}", invocation);
+            }
+        }
+    }
+
+    public List<SelfInvocation> getFindings() {
+        return findings;
+    }
+}
@@ -0,0 +1,20 @@
+package hello.springtx.weaving;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 시작할 때 self-invocation 보고. springtx.tx.self-invocation.report.enabled=false 로 끌 수 있다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.tx.self-invocation.report", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class SelfInvocationReportConfig {
+
+    @Bean
+    public SelfInvocationReport selfInvocationReport(ConfigurableListableBeanFactory beanFactory) {
+        return new SelfInvocationReport(beanFactory);
+    }
+}
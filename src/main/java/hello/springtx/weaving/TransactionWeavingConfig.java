@@ -0,0 +1,27 @@
+package hello.springtx.weaving;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.AdviceMode;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * springtx.tx.weaving.enabled=true 이면 @Transactional 을 프록시 대신 AspectJ 로드 타임 위빙으로 처리한다.
+ * 위빙된 메서드 본문이 직접 트랜잭션을 열므로 this 로 부르는 내부 호출에도 트랜잭션이 적용되고 프록시 단계가 없다.
+ *
+ * <p>JVM 을 aspectjweaver 에이전트와 META-INF/aop-springtx.xml 로 띄워야 한다 (./gradlew wovenTest, -PjmhWeaving 참고).
+ * 에이전트 없이 켜면 @Transactional 이 모두 빠지므로 시작할 때 실패시킨다.
+ * 이 설정이 있으면 스프링 부트의 프록시 방식 @EnableTransactionManagement 는 적용되지 않는다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "springtx.tx.weaving", name = "enabled", havingValue = "true")
+@EnableTransactionManagement(mode = AdviceMode.ASPECTJ)
+public class TransactionWeavingConfig {
+
+    public TransactionWeavingConfig() {
+        if (!Weaving.isWoven()) {
+            throw new IllegalStateException("springtx.tx.weaving.enabled=true 이지만 클래스가 위빙되지 않았습니다. "
+                    + "-javaagent:aspectjweaver.jar -Dorg.aspectj.weaver.loadtime.configuration=META-INF/aop-springtx.xml 로 실행해야 합니다.");
+        }
+    }
+}
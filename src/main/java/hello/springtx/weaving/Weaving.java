@@ -0,0 +1,30 @@
+package hello.springtx.weaving;
+
+import hello.springtx.propagation.MemberService;
+import java.lang.reflect.Field;
+
+/**
+ * AspectJ 로드 타임 위버가 hello.springtx 클래스에 트랜잭션 aspect 를 넣었는지 본다.
+ * 위빙된 클래스에는 ajc$ 로 시작하는 static 필드(join point 정보)가 생긴다.
+ */
+public final class Weaving {
+
+    private Weaving() {
+    }
+
+    /**
+     * 트랜잭션 메서드가 있는 MemberService 가 위빙되었는지로 판단한다.
+     */
+    public static boolean isWoven() {
+        return isWoven(MemberService.class);
+    }
+
+    public static boolean isWoven(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getName().startsWith("ajc$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+create table if not exists member (
+    id bigint generated by default as identity primary key,
+    name varchar(255)
+);
+create index if not exists idx_member_name on member (name);
+
+create table if not exists log (
+    id bigint generated by default as identity primary key,
+    message varchar(255)
+);
+create index if not exists idx_log_message on log (message);
+
+create table if not exists orders (
+    id bigint generated by default as identity primary key,
+    user_name varchar(255),
+    pay_status char(1)
+);
+create index if not exists idx_orders_pay_status_id on orders (pay_status, id);
+
+create table if not exists pending_payment (
+    order_id bigint primary key,
+    attempts int not null,
+    next_attempt_at timestamp with time zone
+);
@@ -0,0 +1,12 @@
+create table if not exists member (
+    id bigint generated by default as identity primary key,
+    name varchar(255)
+);
+create index if not exists idx_member_name on member (name);
+
+create table if not exists orders (
+    id bigint generated by default as identity primary key,
+    user_name varchar(255),
+    pay_status char(1)
+);
+create index if not exists idx_orders_user_name on orders (user_name);
@@ -0,0 +1,119 @@
+package hello.springtx.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 풀 크기 2 에서 REQUIRED -> REQUIRES_NEW 를 두 스레드가 동시에 실행한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "springtx.tx.admission.enabled=true",
+        "springtx.tx.admission.timeout=10s"
+})
+class ConnectionAdmissionTest {
+
+    @Autowired OuterService outerService;
+
+    @Test
+    void poolDeadlockWithoutAdmission() {
+        CountDownLatch bothHoldConnection = new CountDownLatch(2);
+
+        List<Throwable> failures = runConcurrently(() -> outerService.joinWithoutAdmission(bothHoldConnection));
+
+        // 두 스레드가 커넥션 하나씩 쥔 채 두 번째를 기다리다 풀 타임아웃으로 실패한다
+        assertThat(failures).isNotEmpty();
+        assertThat(failures).allMatch(e -> e instanceof CannotCreateTransactionException);
+    }
+
+    @Test
+    void admissionPreventsPoolDeadlock() {
+        CountDownLatch bothHoldConnection = new CountDownLatch(2);
+
+        List<Throwable> failures = runConcurrently(() -> outerService.joinWithAdmission(bothHoldConnection));
+
+        assertThat(failures).isEmpty();
+    }
+
+    private List<Throwable> runConcurrently(Runnable task) {
+        CompletableFuture<Throwable> first = CompletableFuture.supplyAsync(() -> capture(task));
+        CompletableFuture<Throwable> second = CompletableFuture.supplyAsync(() -> capture(task));
+        return Stream.of(first.join(), second.join())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Throwable capture(Runnable task) {
+        try {
+            task.run();
+            return null;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        InnerService innerService() {
+            return new InnerService();
+        }
+
+        @Bean
+        OuterService outerService(InnerService innerService) {
+            return new OuterService(innerService);
+        }
+    }
+
+    @Slf4j
+    @RequiredArgsConstructor
+    static class OuterService {
+
+        private final InnerService innerService;
+
+        @Transactional
+        public void joinWithoutAdmission(CountDownLatch bothHoldConnection) {
+            join(bothHoldConnection);
+        }
+
+        @RequiresConnections(2)
+        @Transactional
+        public void joinWithAdmission(CountDownLatch bothHoldConnection) {
+            join(bothHoldConnection);
+        }
+
+        private void join(CountDownLatch bothHoldConnection) {
+            bothHoldConnection.countDown();
+            try {
+                bothHoldConnection.await(500, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            innerService.log();
+        }
+    }
+
+    static class InnerService {
+
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        public void log() {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package hello.springtx.attribute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import hello.springtx.propagation.MemberRepository;
+import hello.springtx.propagation.MemberService;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest(properties = "springtx.tx.attribute-table.enabled=true")
+class TransactionAttributeTableTest {
+
+    @Autowired TransactionAttributeTable table;
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LevelService levelService;
+
+    @Test
+    void tableHasServiceMethods() {
+        int joinV1 = indexOf(MemberService.class, "joinV1");
+
+        assertThat(table.attribute(joinV1).getName()).isEqualTo(MemberService.class.getName() + ".joinV1");
+        assertThat(table.attribute(indexOf(LevelService.class, "write")).isReadOnly()).isFalse();
+        assertThat(table.attribute(indexOf(LevelService.class, "read")).isReadOnly()).isTrue();
+    }
+
+    @Test
+    void defaultAdvisorReplaced() {
+        for (Object bean : new Object[]{memberService, memberRepository, levelService}) {
+            assertThat(((Advised) bean).getAdvisors())
+                    .noneMatch(advisor -> advisor instanceof BeanFactoryTransactionAttributeSourceAdvisor)
+                    .anyMatch(advisor -> advisor instanceof PrecomputedTransactionAdvisor);
+        }
+    }
+
+    @Test
+    void classAndMethodLevelMerged() {
+        assertThat(levelService.write()).isEqualTo(LevelService.class.getName() + ".write:false");
+        assertThat(levelService.read()).isEqualTo(LevelService.class.getName() + ".read:true");
+    }
+
+    @Test
+    void joinStillCommits() {
+        memberService.joinV1("attribute_table_join");
+
+        assertThat(memberRepository.find("attribute_table_join")).isPresent();
+    }
+
+    private int indexOf(Class<?> type, String methodName) {
+        return IntStream.range(0, table.size())
+                .filter(i -> table.targetClass(i) == type && table.method(i).getName().equals(methodName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(type.getSimpleName() + "." + methodName + " 없음: "
+                        + Arrays.toString(table.indexesOf(type))));
+    }
+
+    @TestConfiguration
+    static class LevelConfig {
+        @Bean
+        LevelService attributeTableLevelService() {
+            return new LevelService();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    static class LevelService {
+
+        @Transactional(readOnly = false)
+        public String write() {
+            return txInfo();
+        }
+
+        public String read() {
+            return txInfo();
+        }
+
+        private String txInfo() {
+            return TransactionSynchronizationManager.getCurrentTransactionName() + ":"
+                    + TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hello.springtx.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.springtx.propagation.MemberRepository;
+import hello.springtx.propagation.MemberService;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest(properties = "springtx.datasource.lazy-connection.enabled=true")
+class LazyConnectionTest {
+
+    @Autowired DataSource dataSource;
+    @Autowired NoSqlService noSqlService;
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void wrapped() {
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+    }
+
+    @Test
+    void noCheckoutWithoutSql() throws SQLException {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        int activeInTx = noSqlService.activeConnections(pool);
+
+        assertThat(activeInTx).isZero();
+    }
+
+    @Test
+    void sqlStillWorks() {
+        memberService.joinV1("lazy_connection");
+
+        assertThat(memberRepository.find("lazy_connection")).isPresent();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        NoSqlService noSqlService() {
+            return new NoSqlService();
+        }
+    }
+
+    @RequiredArgsConstructor
+    static class NoSqlService {
+
+        @Transactional
+        public int activeConnections(HikariDataSource pool) {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+            return pool.getHikariPoolMXBean().getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package hello.springtx.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.springtx.propagation.MemberRepository;
+import hello.springtx.propagation.MemberService;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * primary 와 replica 를 서로 다른 H2 메모리 DB 로 띄우고, replica 에만 있는 행으로 라우팅을 확인한다.
+ */
+@SpringBootTest(properties = {
+        "springtx.datasource.replica.enabled=true",
+        "springtx.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+class ReplicaRoutingTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberService memberService;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired @Qualifier("replicaDataSource") DataSource replicaDataSource;
+    @Autowired @Qualifier("primaryDataSource") HikariDataSource primaryDataSource;
+
+    @BeforeEach
+    void replicaSchema() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists member (id bigint primary key, name varchar(255))");
+        replica.update("merge into member (id, name) key (id) values (?, ?)", -1L, "replica_only");
+    }
+
+    @Test
+    void readOnlyGoesToReplica() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        Boolean present = tx.execute(status -> memberRepository.find("replica_only").isPresent());
+
+        Assertions.assertTrue(present);
+    }
+
+    /**
+     * find 는 readOnly 트랜잭션을 열지 않으므로 가입 직후에도 primary 에서 읽는다.
+     */
+    @Test
+    void findReadsOwnWritesFromPrimary() {
+        memberService.joinV1("replica_join");
+
+        Assertions.assertTrue(memberRepository.find("replica_join").isPresent());
+        Assertions.assertFalse(memberRepository.find("replica_only").isPresent());
+    }
+
+    @Test
+    void writeTransactionGoesToPrimary() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Boolean present = tx.execute(status -> memberRepository.find("replica_only").isPresent());
+
+        Assertions.assertFalse(present);
+    }
+
+    @Test
+    void primaryBindsHikariProperties() {
+        Assertions.assertEquals(7, primaryDataSource.getMaximumPoolSize());
+        Assertions.assertEquals("primary", primaryDataSource.getPoolName());
+    }
+}
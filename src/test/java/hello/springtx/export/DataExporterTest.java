@@ -0,0 +1,87 @@
+package hello.springtx.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderRepository;
+import hello.springtx.order.PayStatus;
+import hello.springtx.propagation.Member;
+import hello.springtx.propagation.MemberRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest(properties = "springtx.export.fetch-size=100")
+class DataExporterTest {
+
+    @Autowired DataExporter dataExporter;
+    @Autowired MemberRepository memberRepository;
+    @Autowired OrderRepository orderRepository;
+    @Autowired EntityManager em;
+    @Autowired ObjectMapper objectMapper;
+
+    @TempDir Path dir;
+
+    @Test
+    void streamDetachesInReadOnlyTransaction() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("export_stream_" + i));
+        }
+        memberRepository.saveAll(members);
+
+        AtomicBoolean managed = new AtomicBoolean();
+        AtomicBoolean writable = new AtomicBoolean();
+        long count = memberRepository.streamAll(member -> {
+            managed.compareAndSet(false, em.contains(member));
+            writable.compareAndSet(false, !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        });
+
+        assertThat(count).isGreaterThanOrEqualTo(250);
+        assertThat(managed).isFalse();
+        assertThat(writable).isFalse();
+    }
+
+    @Test
+    void exportMembersCsv() throws IOException {
+        memberRepository.save(new Member("export,\"csv\""));
+        Path file = dir.resolve("members.csv");
+
+        long rows = dataExporter.exportMembers(file, ExportFormat.CSV);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize((int) rows + 1);
+        assertThat(lines.get(0)).isEqualTo("id,name");
+        assertThat(lines).anyMatch(line -> line.endsWith(",\"export,\"\"csv\"\"\""));
+    }
+
+    @Test
+    void exportOrdersNdjson() throws IOException {
+        Order order = new Order();
+        order.setUserName("export_ndjson");
+        order.setPayStatus(PayStatus.WAITING);
+        orderRepository.save(order);
+        Path file = dir.resolve("orders.ndjson");
+
+        long rows = dataExporter.exportOrders(file, ExportFormat.NDJSON);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize((int) rows);
+        JsonNode last = objectMapper.readTree(lines.get(lines.size() - 1));
+        assertThat(last.get("id").asLong()).isEqualTo(order.getId());
+        assertThat(last.get("userName").asText()).isEqualTo("export_ndjson");
+        assertThat(last.get("payStatus").asText()).isEqualTo("WAITING");
+    }
+}
@@ -0,0 +1,81 @@
+package hello.springtx.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderService;
+import hello.springtx.propagation.MemberService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class TransactionMetricsTest {
+
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired PlatformTransactionManager txManager;
+
+    @Test
+    void managerKeepsType() {
+        // 리스너로 붙이므로 매니저를 감싸지 않는다
+        assertThat(txManager).isInstanceOf(JpaTransactionManager.class);
+        assertThat(((JpaTransactionManager) txManager).getTransactionExecutionListeners())
+                .filteredOn(TransactionMetricsListener.class::isInstance)
+                .hasSize(1);
+    }
+
+    @Test
+    void orderRollback() {
+        Order order = new Order();
+        order.setUserName("예외");
+
+        assertThatThrownBy(() -> orderService.order(order)).isInstanceOf(RuntimeException.class);
+
+        Timer timer = meterRegistry.find(TransactionMetricsListener.TIMER_NAME)
+                .tag("method", "hello.springtx.order.OrderService.order")
+                .tag("outcome", "rollback")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void requiresNewPhysicalTransaction() {
+        memberService.joinV1("metrics_requiresNew");
+
+        Timer timer = meterRegistry.find(TransactionMetricsListener.TIMER_NAME)
+                .tag("method", "hello.springtx.propagation.LogRepository.save")
+                .tag("kind", "suspending")
+                .tag("outcome", "commit")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(meterRegistry.get("springtx.transaction.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("springtx.transaction.suspended").gauge().value()).isZero();
+    }
+
+    @Test
+    void unexpectedRollback() {
+        TransactionTemplate outer = new TransactionTemplate(txManager);
+        outer.setName("metrics.unexpectedRollback");
+        TransactionTemplate inner = new TransactionTemplate(txManager);
+
+        assertThatThrownBy(() -> outer.executeWithoutResult(
+                status -> inner.executeWithoutResult(innerStatus -> innerStatus.setRollbackOnly())))
+                .isInstanceOf(UnexpectedRollbackException.class);
+
+        Timer timer = meterRegistry.find(TransactionMetricsListener.TIMER_NAME)
+                .tag("method", "metrics.unexpectedRollback")
+                .tag("outcome", "unexpected_rollback")
+                .timer();
+        assertThat(timer).isNotNull();
+    }
+}
@@ -0,0 +1,92 @@
+package hello.springtx.order;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 10k 동시 주문을 플랫폼 스레드 풀과 가상 스레드로 처리해 비교한다.
+ * 힙은 실행하는 동안 10ms 마다 재서 가장 컸을 때와 시작 전의 차이를 남긴다.
+ * ./gradlew loadTest -PjavaVersion=21 (-Djdk.tracePinnedThreads=short 로 pinning 위치를 출력한다)
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = {
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+        "logging.level.org.hibernate.resource.transaction=INFO",
+        "logging.level.hello.springtx=WARN"
+})
+class OrderLoadTest {
+
+    static final int ORDERS = 10_000;
+    static final int POOL_SIZE = 10;
+
+    @Autowired OrderService orderService;
+
+    @Test
+    void platformThreads() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(200);
+        executor.setMaxPoolSize(200);
+        executor.setQueueCapacity(ORDERS);
+        executor.initialize();
+        try {
+            run("platform", executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void virtualThreads() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21 이상");
+        run("virtual", new VirtualThreadTaskExecutor("order-vt-"));
+    }
+
+    private void run(String mode, Executor executor) {
+        AsyncOrderService asyncOrderService = new AsyncOrderService(orderService, executor, POOL_SIZE);
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong usedPeak = new AtomicLong(usedBefore);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                usedPeak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                LockSupport.parkNanos(10_000_000L);
+            }
+        }, "heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        long start = System.nanoTime();
+
+        List<CompletableFuture<Order>> futures = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUserName("load_" + mode + "_" + i);
+            futures.add(asyncOrderService.order(order));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        running.set(false);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.warn("[{}] orders={} elapsed={}ms throughput={}/s heapPeakDelta={}KB",
+                mode, ORDERS, elapsedMs, ORDERS * 1000L / Math.max(elapsedMs, 1), (usedPeak.get() - usedBefore) / 1024);
+
+        Assertions.assertThat(futures).allMatch(f -> f.join().getPayStatus() == PayStatus.COMPLETE);
+    }
+}
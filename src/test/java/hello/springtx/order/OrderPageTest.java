@@ -0,0 +1,73 @@
+package hello.springtx.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+@SpringBootTest
+class OrderPageTest {
+
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    void keysetWalksAllPages() {
+        List<Long> canceled = saveOrders("page_walk", PayStatus.CANCELED, 25);
+        saveOrders("page_walk_other", PayStatus.COMPLETE, 5);
+
+        List<Long> read = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            OrderPage<Order> page = orderRepository.findByPayStatus(PayStatus.CANCELED, token, 10);
+            page.content().forEach(order -> read.add(order.getId()));
+            token = page.nextToken();
+            pages++;
+        } while (token != null);
+
+        assertThat(read).containsSubsequence(canceled).isSorted().doesNotHaveDuplicates();
+        assertThat(pages).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void summaryProjection() {
+        List<Long> waiting = saveOrders("page_summary", PayStatus.WAITING, 3);
+
+        OrderPage<OrderSummary> page = orderRepository.findSummariesByPayStatus(PayStatus.WAITING, null, 1_000);
+
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.content()).extracting(OrderSummary::id).containsAll(waiting);
+        assertThat(page.content()).allMatch(summary -> summary.payStatus() == PayStatus.WAITING);
+    }
+
+    @Test
+    void tokenBoundToStatus() {
+        saveOrders("page_token", PayStatus.COMPLETE, 3);
+        String token = orderRepository.findByPayStatus(PayStatus.COMPLETE, null, 1).nextToken();
+
+        assertThat(token).isNotNull();
+        // 리포지토리 프록시가 IllegalArgumentException 을 InvalidDataAccessApiUsageException 으로 바꾼다
+        assertThatThrownBy(() -> orderRepository.findByPayStatus(PayStatus.WAITING, token, 1))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderRepository.findByPayStatus(PayStatus.COMPLETE, "not a token", 1))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> saveOrders(String userName, PayStatus payStatus, int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setUserName(userName + "_" + i);
+            order.setPayStatus(payStatus);
+            orders.add(order);
+        }
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+}
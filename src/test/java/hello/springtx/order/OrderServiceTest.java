@@ -2,6 +2,8 @@ package hello.springtx.order;
 
 import static org.assertj.core.api.Fail.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
@@ -24,7 +26,7 @@ class OrderServiceTest {
         orderService.order(order);
 
         Order findOrder = orderRepository.findById(order.getId()).get();
-        Assertions.assertThat(findOrder.getPayStatus()).isEqualTo("결제 완료");
+        Assertions.assertThat(findOrder.getPayStatus()).isEqualTo(PayStatus.COMPLETE);
 
         /**
          * o.s.t.i.TransactionInterceptor           : Getting transaction for [org.springframework.data.jpa.repository.support.SimpleJpaRepository.save]
@@ -71,7 +73,7 @@ class OrderServiceTest {
         }
 
         Order findOrder = orderRepository.findById(order.getId()).get();
-        Assertions.assertThat(findOrder.getPayStatus()).isEqualTo("대기");
+        Assertions.assertThat(findOrder.getPayStatus()).isEqualTo(PayStatus.WAITING);
 
         /**
          * o.s.t.i.TransactionInterceptor           : Getting transaction for [org.springframework.data.jpa.repository.support.SimpleJpaRepository.save]
@@ -85,4 +87,24 @@ class OrderServiceTest {
          * hello.springtx.order.OrderServiceTest    : 고객에게 잔고 부족을 알리고 별도 계좌로 입금하도록 안내한다.
          */
     }
+
+    @Test
+    void orderAll() {
+        List<Order> orders = new ArrayList<>();
+        for (String userName : List.of("정상", "예외", "잔고 부족", "정상")) {
+            Order order = new Order();
+            order.setUserName(userName);
+            orders.add(order);
+        }
+
+        List<OrderResult> results = orderService.orderAll(orders);
+
+        Assertions.assertThat(results).extracting(OrderResult::outcome).containsExactly(
+                OrderResult.Outcome.COMPLETED, OrderResult.Outcome.FAILED,
+                OrderResult.Outcome.PENDING, OrderResult.Outcome.COMPLETED);
+        Assertions.assertThat(orderRepository.findById(orders.get(0).getId()).get().getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+        Assertions.assertThat(orders.get(1).getId()).isNull();
+        Assertions.assertThat(orderRepository.findById(orders.get(2).getId()).get().getPayStatus()).isEqualTo(PayStatus.WAITING);
+        Assertions.assertThat(orderRepository.findById(orders.get(3).getId()).get().getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+    }
 }
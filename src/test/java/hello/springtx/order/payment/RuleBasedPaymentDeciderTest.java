@@ -0,0 +1,34 @@
+package hello.springtx.order.payment;
+
+import hello.springtx.order.Order;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RuleBasedPaymentDeciderTest {
+
+    PaymentDecider decider = new RuleBasedPaymentDecider(
+            new PaymentRuleProperties().getRules(), PaymentDecision.APPROVE);
+
+    @Test
+    void defaultRules() {
+        Assertions.assertThat(decider.decide(order("예외"))).isEqualTo(PaymentDecision.SYSTEM_ERROR);
+        Assertions.assertThat(decider.decide(order("잔고 부족"))).isEqualTo(PaymentDecision.NOT_ENOUGH_MONEY);
+        Assertions.assertThat(decider.decide(order("정상"))).isEqualTo(PaymentDecision.APPROVE);
+    }
+
+    @Test
+    void customRules() {
+        PaymentDecider custom = new RuleBasedPaymentDecider(
+                Map.of("vip", PaymentDecision.APPROVE), PaymentDecision.NOT_ENOUGH_MONEY);
+
+        Assertions.assertThat(custom.decide(order("vip"))).isEqualTo(PaymentDecision.APPROVE);
+        Assertions.assertThat(custom.decide(order("guest"))).isEqualTo(PaymentDecision.NOT_ENOUGH_MONEY);
+    }
+
+    private Order order(String userName) {
+        Order order = new Order();
+        order.setUserName(userName);
+        return order;
+    }
+}
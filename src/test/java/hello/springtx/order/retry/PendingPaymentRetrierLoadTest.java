@@ -0,0 +1,61 @@
+package hello.springtx.order.retry;
+
+import hello.springtx.order.NotEnoughMoneyException;
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderService;
+import hello.springtx.order.payment.PaymentDecision;
+import hello.springtx.order.status.OrderStatusTransitions;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 예열 뒤 대기 주문 1,000 건을 batch-size 50 으로 처리해 초당 500 건 이상인지 본다.
+ * ./gradlew loadTest --tests '*PendingPaymentRetrierLoadTest'
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = {
+        "springtx.payment.retry.initial-backoff=0s",
+        "springtx.payment.retry.batch-size=50"
+})
+class PendingPaymentRetrierLoadTest {
+
+    @Autowired OrderService orderService;
+    @Autowired PaymentRetryProperties properties;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired OrderStatusTransitions statusTransitions;
+
+    @Test
+    void throughput() {
+        PendingPaymentRetrier approveAll = new PendingPaymentRetrier(jdbcTemplate, em, transactionTemplate,
+                (order, attempt) -> PaymentDecision.APPROVE, properties, statusTransitions);
+        pendingOrders(500);
+        approveAll.retryAll();
+        pendingOrders(1000);
+
+        long start = System.nanoTime();
+        int processed = approveAll.retryAll();
+        long elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.warn("대기 주문 재시도 processed={} elapsed={}ms throughput={}/s", processed, elapsedMs, processed * 1000L / elapsedMs);
+
+        Assertions.assertThat(processed).isGreaterThanOrEqualTo(1000);
+        Assertions.assertThat(processed * 1000L / elapsedMs).isGreaterThanOrEqualTo(500);
+    }
+
+    private void pendingOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setUserName("잔고 부족");
+            Assertions.assertThatThrownBy(() -> orderService.order(order)).isInstanceOf(NotEnoughMoneyException.class);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package hello.springtx.order.retry;
+
+import hello.springtx.order.NotEnoughMoneyException;
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderRepository;
+import hello.springtx.order.OrderService;
+import hello.springtx.order.PayStatus;
+import hello.springtx.order.payment.PaymentDecision;
+import hello.springtx.order.status.OrderStatusTransitions;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "springtx.payment.retry.max-attempts=3",
+        "springtx.payment.retry.initial-backoff=0s",
+        "springtx.payment.retry.batch-size=50"
+})
+class PendingPaymentRetrierTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired PendingPaymentRetrier pendingPaymentRetrier;
+    @Autowired PaymentRetryProperties properties;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired OrderStatusTransitions statusTransitions;
+
+    @Test
+    void cancelAfterMaxAttempts() {
+        List<Order> orders = pendingOrders(120);
+
+        for (int attempt = 0; attempt < properties.getMaxAttempts(); attempt++) {
+            pendingPaymentRetrier.retryAll();
+        }
+
+        for (Order order : orders) {
+            Assertions.assertThat(orderRepository.findById(order.getId()).get().getPayStatus())
+                    .isEqualTo(PayStatus.CANCELED);
+        }
+        Assertions.assertThat(pendingCount()).isZero();
+    }
+
+    /**
+     * 처리량은 PendingPaymentRetrierLoadTest 에서 본다.
+     */
+    @Test
+    void completeWhenApproved() {
+        PendingPaymentRetrier approveAll = retrier((order, attempt) -> PaymentDecision.APPROVE);
+        List<Order> orders = pendingOrders(120);
+
+        int processed = approveAll.retryAll();
+
+        Assertions.assertThat(processed).isGreaterThanOrEqualTo(orders.size());
+        for (Order order : orders) {
+            Assertions.assertThat(orderRepository.findById(order.getId()).get().getPayStatus())
+                    .isEqualTo(PayStatus.COMPLETE);
+        }
+        Assertions.assertThat(pendingCount()).isZero();
+    }
+
+    /**
+     * 결과가 바뀌는 결정(두 번째 재시도에서 승인)이면 대기 주문이 결제 완료로 끝난다.
+     */
+    @Test
+    void approvedOnLaterAttempt() {
+        List<Order> orders = pendingOrders(20);
+        PendingPaymentRetrier toppedUp = retrier((order, attempt) ->
+                attempt >= 2 ? PaymentDecision.APPROVE : PaymentDecision.NOT_ENOUGH_MONEY);
+
+        toppedUp.retryAll();
+        for (Order order : orders) {
+            Assertions.assertThat(orderRepository.findById(order.getId()).get().getPayStatus())
+                    .isEqualTo(PayStatus.WAITING);
+        }
+        toppedUp.retryAll();
+
+        for (Order order : orders) {
+            Assertions.assertThat(orderRepository.findById(order.getId()).get().getPayStatus())
+                    .isEqualTo(PayStatus.COMPLETE);
+        }
+        Assertions.assertThat(pendingCount()).isZero();
+    }
+
+    private long pendingCount() {
+        return jdbcTemplate.queryForObject("select count(*) from pending_payment", Long.class);
+    }
+
+    private PendingPaymentRetrier retrier(RetryPaymentDecider decider) {
+        return new PendingPaymentRetrier(jdbcTemplate, em, transactionTemplate, decider, properties, statusTransitions);
+    }
+
+    private List<Order> pendingOrders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setUserName("잔고 부족");
+            try {
+                orderService.order(order);
+            } catch (NotEnoughMoneyException e) {
+                orders.add(order);
+            }
+        }
+        Assertions.assertThat(orders).hasSize(count);
+        return orders;
+    }
+}
@@ -0,0 +1,205 @@
+package hello.springtx.order.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import hello.springtx.IdAllocation;
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderRepository;
+import hello.springtx.order.OrderService;
+import hello.springtx.order.PayStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "springtx.order.status.coalescing.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderStatusTransitionsTest {
+
+    @Autowired OrderStatusTransitions statusTransitions;
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 중간에 auto flush 가 일어나도 마지막 상태로 UPDATE 한 번만 나간다.
+     */
+    @Test
+    void finalStateOnly() {
+        Long id = waitingOrder("status_final");
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = em.find(Order.class, id);
+            statusTransitions.transition(order, PayStatus.COMPLETE);
+            autoFlush();
+            statusTransitions.transition(order, PayStatus.CANCELED);
+            autoFlush();
+            statusTransitions.transition(order, PayStatus.COMPLETE);
+
+            assertThat(order.getPayStatus()).isEqualTo(PayStatus.WAITING);
+            assertThat(statusTransitions.statusOf(order)).isEqualTo(PayStatus.COMPLETE);
+        });
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(orderRepository.findById(id).get().getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+        assertThat(history(id)).containsExactly("W>C", "C>X", "X>C");
+    }
+
+    @Test
+    void backToInitialSkipsUpdate() {
+        Long id = waitingOrder("status_back");
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = em.find(Order.class, id);
+            statusTransitions.transition(order, PayStatus.COMPLETE);
+            statusTransitions.transition(order, PayStatus.WAITING);
+        });
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(history(id)).containsExactly("W>C", "C>W");
+    }
+
+    @Test
+    void rollbackDiscards() {
+        Long id = waitingOrder("status_rollback");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = em.find(Order.class, id);
+            statusTransitions.transition(order, PayStatus.COMPLETE);
+            status.setRollbackOnly();
+        });
+
+        assertThat(orderRepository.findById(id).get().getPayStatus()).isEqualTo(PayStatus.WAITING);
+        assertThat(history(id)).isEmpty();
+    }
+
+    /**
+     * REQUIRES_NEW 안쪽 트랜잭션의 변경은 안쪽 커밋에 반영되고, 바깥이 롤백되어도 남는다.
+     */
+    @Test
+    void requiresNewKeepsOwnBuffer() {
+        Long outerId = waitingOrder("status_outer");
+        Long innerId = waitingOrder("status_inner");
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order outer = em.find(Order.class, outerId);
+            statusTransitions.transition(outer, PayStatus.COMPLETE);
+
+            requiresNew.executeWithoutResult(inner -> {
+                Order order = em.find(Order.class, innerId);
+                statusTransitions.transition(order, PayStatus.CANCELED);
+            });
+
+            assertThat(statusTransitions.statusOf(outer)).isEqualTo(PayStatus.COMPLETE);
+            status.setRollbackOnly();
+        });
+
+        assertThat(orderRepository.findById(innerId).get().getPayStatus()).isEqualTo(PayStatus.CANCELED);
+        assertThat(history(innerId)).containsExactly("W>X");
+        assertThat(orderRepository.findById(outerId).get().getPayStatus()).isEqualTo(PayStatus.WAITING);
+        assertThat(history(outerId)).isEmpty();
+    }
+
+    /**
+     * OrderService.order 는 먼저 persist 하므로 INSERT 는 persist 시점 상태로 나가고 마지막 상태는 UPDATE 한 번으로 반영된다.
+     */
+    @Test
+    void persistedOrderGetsOneUpdate() throws Exception {
+        Order order = new Order();
+        order.setUserName("정상");
+        statistics.clear();
+
+        orderService.order(order);
+
+        assertThat(order.getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+        assertThat(history(order.getId())).containsExactly("null>C");
+    }
+
+    /**
+     * OrderService.orderAll 은 결제 결과를 정한 뒤 persist 하므로 INSERT 에 최종 상태가 실리고 UPDATE 는 없다.
+     */
+    @Test
+    void orderInsertCarriesFinalState() {
+        Order order = new Order();
+        order.setUserName("정상");
+        statistics.clear();
+
+        orderService.orderAll(List.of(order));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+        assertThat(history(order.getId())).containsExactly("null>C");
+    }
+
+    /**
+     * 이력 ID 는 pooled 블록에서 받으므로 행이 allocationSize 보다 많아도 시퀀스는 블록 수만큼만 움직인다.
+     */
+    @Test
+    void historyIdsFromPooledBlock() {
+        Long id = waitingOrder("status_ids");
+        long sequenceBefore = historySequence();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = em.find(Order.class, id);
+            for (int i = 0; i < 60; i++) {
+                statusTransitions.transition(order, (i % 2 == 0 ? PayStatus.COMPLETE : PayStatus.CANCELED));
+            }
+        });
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from order_status_history where order_id = ?", Long.class, id);
+        assertThat(ids).hasSize(60).doesNotHaveDuplicates();
+        // 시퀀스는 한 번에 allocationSize 씩 증가한다
+        assertThat(historySequence() - sequenceBefore).isLessThanOrEqualTo(2L * IdAllocation.ALLOCATION_SIZE);
+    }
+
+    private long historySequence() {
+        return jdbcTemplate.queryForObject("select base_value from information_schema.sequences"
+                + " where sequence_name = 'ORDER_STATUS_HISTORY_SEQ'", Long.class);
+    }
+
+    private Long waitingOrder(String userName) {
+        Order order = new Order();
+        order.setUserName(userName);
+        order.setPayStatus(PayStatus.WAITING);
+        return orderRepository.save(order).getId();
+    }
+
+    private void autoFlush() {
+        em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+    }
+
+    private List<String> history(Long orderId) {
+        return jdbcTemplate.query(
+                "select from_status, to_status from order_status_history where order_id = ? order by id",
+                (rs, rowNum) -> rs.getString("from_status") + ">" + rs.getString("to_status"), orderId);
+    }
+}
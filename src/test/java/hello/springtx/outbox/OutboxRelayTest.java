@@ -0,0 +1,114 @@
+package hello.springtx.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import hello.springtx.propagation.MemberService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired MemberService memberService;
+    @Autowired OutboxRepository outboxRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    @Test
+    void relayInOrder() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            names.add("outbox_" + i);
+            memberService.joinV1("outbox_" + i);
+        }
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        OutboxRelay relay = new OutboxRelay(outboxRepository, transactionTemplate, sink, 10);
+
+        relay.relayAll();
+
+        List<OutboxEvent> published = sink.getPublished();
+        assertThat(published).extracting(OutboxEvent::getId).isSorted();
+        assertThat(published).extracting(OutboxEvent::getPayload).containsSubsequence(names);
+        assertThat(relay.getCursor()).isEqualTo(published.get(published.size() - 1).getId());
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void rolledBackJoinIsNotPublished() {
+        assertThatThrownBy(() -> memberService.joinV1("로그 예외_outbox"))
+                .isInstanceOf(RuntimeException.class);
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        OutboxRelay relay = new OutboxRelay(outboxRepository, transactionTemplate, sink, 10);
+
+        relay.relayAll();
+
+        assertThat(sink.getPublished()).extracting(OutboxEvent::getPayload).doesNotContain("로그 예외_outbox");
+    }
+
+    @Test
+    void failedSinkKeepsEvents() {
+        memberService.joinV1("outbox_retry");
+        OutboxRelay failing = new OutboxRelay(outboxRepository, transactionTemplate, events -> {
+            throw new IllegalStateException("sink down");
+        }, 10);
+
+        assertThatThrownBy(failing::relayAll).isInstanceOf(IllegalStateException.class);
+        assertThat(count()).isPositive();
+
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        new OutboxRelay(outboxRepository, transactionTemplate, sink, 10).relayAll();
+        assertThat(sink.getPublished()).extracting(OutboxEvent::getPayload).contains("outbox_retry");
+    }
+
+    /**
+     * 먼저 insert 되고 늦게 커밋된 행은 cursor 뒤의 행이 계속 있어도 다음 배치에서 나간다.
+     */
+    @Test
+    void lateCommitIsRelayed() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> late = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.save(new OutboxEvent("MemberJoined", "outbox_late"));
+            em.flush();
+            inserted.countDown();
+            await(commit);
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 3; i++) {
+            memberService.joinV1("outbox_early_" + i);
+        }
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        OutboxRelay relay = new OutboxRelay(outboxRepository, transactionTemplate, sink, 2);
+
+        relay.relayBatch();
+        commit.countDown();
+        late.get(10, TimeUnit.SECONDS);
+        memberService.joinV1("outbox_early_3");
+        relay.relayBatch();
+
+        assertThat(sink.getPublished()).extracting(OutboxEvent::getPayload).contains("outbox_late");
+        relay.relayAll();
+        assertThat(count()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long count() {
+        return em.createQuery("select count(e) from OutboxEvent e", Long.class).getSingleResult();
+    }
+}
@@ -0,0 +1,90 @@
+package hello.springtx.propagation;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "springtx.log.buffer.enabled=true",
+        "springtx.log.buffer.flush-size=10",
+        "springtx.log.buffer.flush-interval=50ms"
+})
+class BufferedLogWriterTest {
+
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+    @Autowired BufferedLogWriter bufferedLogWriter;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void joinV2_buffered() throws InterruptedException {
+        for (int i = 0; i < 25; i++) {
+            memberService.joinV2("buffered_" + i);
+        }
+
+        awaitFlush();
+
+        for (int i = 0; i < 25; i++) {
+            Assertions.assertTrue(memberRepository.find("buffered_" + i).isPresent());
+            Assertions.assertTrue(logRepository.find("buffered_" + i).isPresent());
+        }
+    }
+
+    @Test
+    void joinV1_buffered_memberRollback_logKept() throws InterruptedException {
+        String username = "buffered_rollback";
+
+        // 로그는 큐에 들어간 뒤 별도 트랜잭션으로 저장되므로 회원 롤백과 무관하다 (REQUIRES_NEW 와 동일)
+        TransactionTemplate outerTx = new TransactionTemplate(transactionManager);
+        outerTx.executeWithoutResult(status -> {
+            memberService.joinV1(username);
+            status.setRollbackOnly();
+        });
+
+        awaitFlush();
+
+        Assertions.assertTrue(memberRepository.find(username).isEmpty());
+        Assertions.assertTrue(logRepository.find(username).isPresent());
+    }
+
+    /**
+     * 버퍼 모드에서는 로그 저장이 회원 트랜잭션 밖에서 일어나므로 joinV1 도 회원을 커밋한다.
+     */
+    @Test
+    void joinV1_buffered_logFailureNotPropagated() throws InterruptedException {
+        String username = "로그 예외_buffered";
+
+        memberService.joinV1(username);
+        awaitFlush();
+
+        Assertions.assertTrue(memberRepository.find(username).isPresent());
+    }
+
+    @Test
+    void idsSharedWithJpa() throws InterruptedException {
+        for (int i = 0; i < 30; i++) {
+            memberService.joinV2("buffered_ids_" + i);
+            logRepository.save(new Log("buffered_ids_jpa_" + i));
+        }
+        awaitFlush();
+
+        Set<Long> ids = new HashSet<>(jdbcTemplate.queryForList(
+                "select id from log where message like 'buffered_ids_%'", Long.class));
+        Assertions.assertEquals(60, ids.size());
+    }
+
+    private void awaitFlush() throws InterruptedException {
+        Assertions.assertTrue(bufferedLogWriter.awaitFlushed(Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,103 @@
+package hello.springtx.propagation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "springtx.member.cache.enabled=true",
+        "springtx.member.cache.max-size=2"
+})
+class MemberCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberCache memberCache;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void readThrough() {
+        memberRepository.save(new Member("cache_readThrough"));
+
+        Member first = memberRepository.find("cache_readThrough").orElseThrow();
+        Member second = memberRepository.find("cache_readThrough").orElseThrow();
+
+        Assertions.assertTrue(memberCache.get("cache_readThrough").isPresent());
+        Assertions.assertEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void copiesNotShared() {
+        memberRepository.save(new Member("cache_copy"));
+        memberRepository.find("cache_copy").orElseThrow().setName("changed");
+
+        Member cached = memberCache.get("cache_copy").orElseThrow();
+        cached.setName("changed");
+
+        Assertions.assertEquals("cache_copy", memberRepository.find("cache_copy").orElseThrow().getName());
+    }
+
+    /**
+     * 무효화 전에 시작한 조회가 무효화 뒤에 넣으려는 값은 무시된다.
+     */
+    @Test
+    void stalePutIgnored() {
+        Member stale = new Member("cache_stale");
+        long stamp = memberCache.stamp();
+
+        memberCache.evict("cache_stale");
+
+        Assertions.assertFalse(memberCache.put("cache_stale", stale, stamp));
+        Assertions.assertTrue(memberCache.get("cache_stale").isEmpty());
+        Assertions.assertTrue(memberCache.put("cache_stale", stale, memberCache.stamp()));
+    }
+
+    @Test
+    void duplicateNameNotCached() {
+        memberRepository.save(new Member("cache_duplicate"));
+        memberRepository.save(new Member("cache_duplicate"));
+
+        Member found = memberRepository.find("cache_duplicate").orElseThrow();
+
+        Assertions.assertTrue(memberCache.get("cache_duplicate").isEmpty());
+        Assertions.assertEquals(found.getId(), memberRepository.find("cache_duplicate").orElseThrow().getId());
+    }
+
+    @Test
+    void evictOnCommit() {
+        memberRepository.save(new Member("cache_evict"));
+        memberRepository.find("cache_evict");
+        Assertions.assertTrue(memberCache.get("cache_evict").isPresent());
+
+        memberRepository.save(new Member("cache_evict"));
+
+        Assertions.assertTrue(memberCache.get("cache_evict").isEmpty());
+    }
+
+    @Test
+    void rollbackKeepsCache() {
+        memberRepository.save(new Member("cache_rollback"));
+        memberRepository.find("cache_rollback");
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            memberRepository.save(new Member("cache_rollback"));
+            memberRepository.find("cache_rollback");
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertTrue(memberCache.get("cache_rollback").isPresent());
+    }
+
+    @Test
+    void sizeBounded() {
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("cache_size_" + i));
+            memberRepository.find("cache_size_" + i);
+        }
+
+        Assertions.assertTrue(memberCache.size() <= 2);
+    }
+}
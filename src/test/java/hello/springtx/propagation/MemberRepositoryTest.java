@@ -0,0 +1,48 @@
+package hello.springtx.propagation;
+
+import hello.springtx.IdAllocation;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MemberRepositoryTest {
+
+    static final int ROWS = 1_000;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+    @Autowired EntityManagerFactory emf;
+
+    @Test
+    void saveAll() {
+        List<Member> members = new ArrayList<>();
+        List<Log> logs = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            members.add(new Member("saveAll_" + i));
+            logs.add(new Log("saveAll_" + i));
+        }
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        memberRepository.saveAll(members);
+        logRepository.saveAll(logs);
+
+        // 배치가 아니면 insert 만 2 * ROWS 번 준비된다. 배치면 batch_size 마다 insert 1 번, allocationSize 마다 시퀀스 1 번이다
+        long batches = 2L * ROWS / IdAllocation.ALLOCATION_SIZE;
+        Assertions.assertEquals(2L * ROWS, statistics.getEntityInsertCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 2 * batches + 4,
+                "prepared statements=" + statistics.getPrepareStatementCount());
+
+        Assertions.assertTrue(members.stream().allMatch(member -> member.getId() != null));
+        Assertions.assertTrue(memberRepository.find("saveAll_0").isPresent());
+        Assertions.assertTrue(memberRepository.find("saveAll_999").isPresent());
+        Assertions.assertTrue(logRepository.find("saveAll_999").isPresent());
+    }
+}
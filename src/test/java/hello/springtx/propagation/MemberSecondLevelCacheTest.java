@@ -0,0 +1,64 @@
+package hello.springtx.propagation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "springtx.member.l2-cache.enabled=true")
+class MemberSecondLevelCacheTest {
+
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory emf;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void secondFindHitsCache() {
+        memberService.joinV1("l2_secondFind");
+        memberRepository.find("l2_secondFind").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        Member member = memberRepository.find("l2_secondFind").orElseThrow();
+
+        assertThat(member.getName()).isEqualTo("l2_secondFind");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(MemberSecondLevelCacheConfig.ENTITY_REGION).getHitCount())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void joinInvalidatesCachedMiss() {
+        assertThat(memberRepository.find("l2_joinAfterMiss")).isEmpty();
+
+        memberService.joinV1("l2_joinAfterMiss");
+
+        assertThat(memberRepository.find("l2_joinAfterMiss")).isPresent();
+    }
+
+    @Test
+    void rollbackLeavesNoEntry() {
+        long puts = statistics.getDomainDataRegionStatistics(MemberSecondLevelCacheConfig.ENTITY_REGION).getPutCount();
+
+        assertThatThrownBy(() -> memberService.joinV1("로그 예외_l2_rollback"))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(statistics.getDomainDataRegionStatistics(MemberSecondLevelCacheConfig.ENTITY_REGION).getPutCount())
+                .isEqualTo(puts);
+        assertThat(memberRepository.find("로그 예외_l2_rollback")).isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+package hello.springtx.reactive;
+
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderService;
+import hello.springtx.order.PayStatus;
+import hello.springtx.propagation.MemberService;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 동시 요청 CONCURRENCY 개로 가입 / 주문을 처리할 때 블로킹(JPA, 스레드 풀)과 리액티브(R2DBC)의
+ * 처리량, 요청당 힙 사용량, 최대 스레드 수를 비교한다.
+ * joinV1 은 회원 커넥션을 쥔 채 로그(REQUIRES_NEW) 커넥션을 하나 더 받으므로, 풀이 동시 요청 수보다 작으면
+ * 모든 요청이 두 번째 커넥션을 기다리며 멈출 수 있다. 그래서 커넥션 풀은 양쪽 모두 CONCURRENCY + 1 로 둔다.
+ * ./gradlew loadTest
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = {
+        "springtx.reactive.enabled=true",
+        "springtx.reactive.maximum-pool-size=" + ReactiveLoadTest.POOL_SIZE,
+        "spring.datasource.hikari.maximum-pool-size=" + ReactiveLoadTest.POOL_SIZE,
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+        "logging.level.org.hibernate.resource.transaction=INFO",
+        "logging.level.hello.springtx=WARN"
+})
+class ReactiveLoadTest {
+
+    static final int REQUESTS = 10_000;
+    static final int CONCURRENCY = 200;
+    static final int POOL_SIZE = CONCURRENCY + 1;
+
+    @Autowired MemberService memberService;
+    @Autowired OrderService orderService;
+    @Autowired ReactiveMemberService reactiveMemberService;
+    @Autowired ReactiveOrderService reactiveOrderService;
+
+    @Test
+    void join() {
+        blocking("join", i -> {
+            memberService.joinV1("load_blocking_join_" + i);
+            return null;
+        });
+        reactive("join", i -> reactiveMemberService.joinV1("load_reactive_join_" + i).thenReturn(i));
+    }
+
+    @Test
+    void order() {
+        blocking("order", i -> {
+            Order order = order("load_blocking_order_" + i);
+            try {
+                orderService.order(order);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            Assertions.assertThat(order.getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+            return null;
+        });
+        reactive("order", i -> reactiveOrderService.order(order("load_reactive_order_" + i)));
+    }
+
+    private void blocking(String name, IntFunction<Object> call) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(CONCURRENCY);
+        executor.setMaxPoolSize(CONCURRENCY);
+        executor.setQueueCapacity(REQUESTS);
+        executor.initialize();
+        try {
+            measure("blocking " + name, () -> {
+                List<CompletableFuture<Object>> futures = new ArrayList<>(REQUESTS);
+                for (int i = 0; i < REQUESTS; i++) {
+                    int n = i;
+                    futures.add(CompletableFuture.supplyAsync(() -> call.apply(n), executor));
+                }
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void reactive(String name, IntFunction<Mono<?>> call) {
+        measure("reactive " + name, () -> Flux.range(0, REQUESTS)
+                .flatMap(call::apply, CONCURRENCY)
+                .then()
+                .block());
+    }
+
+    private void measure(String mode, Runnable run) {
+        Runtime runtime = Runtime.getRuntime();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+
+        run.run();
+
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.warn("[{}] requests={} concurrency={} elapsed={}ms throughput={}/s heapPerConcurrentRequest={}KB peakThreads={}",
+                mode, REQUESTS, CONCURRENCY, elapsedMs, REQUESTS * 1000L / Math.max(elapsedMs, 1),
+                (usedAfter - usedBefore) / 1024 / CONCURRENCY, threads.getPeakThreadCount());
+    }
+
+    private static Order order(String userName) {
+        Order order = new Order();
+        order.setUserName(userName);
+        return order;
+    }
+}
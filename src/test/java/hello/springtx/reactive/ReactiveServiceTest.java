@@ -0,0 +1,91 @@
+package hello.springtx.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import hello.springtx.order.NotEnoughMoneyException;
+import hello.springtx.order.Order;
+import hello.springtx.order.PayStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = "springtx.reactive.enabled=true")
+class ReactiveServiceTest {
+
+    @Autowired ReactiveMemberService memberService;
+    @Autowired ReactiveMemberRepository memberRepository;
+    @Autowired ReactiveLogRepository logRepository;
+    @Autowired ReactiveOrderService orderService;
+    @Autowired ReactiveOrderRepository orderRepository;
+
+    @Test
+    void joinCommitsBoth() {
+        memberService.joinV1("reactive_join").block();
+
+        assertThat(memberRepository.find("reactive_join").blockOptional()).isPresent();
+        assertThat(logRepository.find("reactive_join").blockOptional()).isPresent();
+    }
+
+    /**
+     * 로그 REQUIRES_NEW 실패가 밖으로 나오면 회원 트랜잭션도 롤백된다.
+     */
+    @Test
+    void logFailureRollsBackMember() {
+        String name = "로그 예외_reactive_v1";
+
+        assertThatThrownBy(() -> memberService.joinV1(name).block()).isInstanceOf(RuntimeException.class);
+
+        assertThat(memberRepository.find(name).blockOptional()).isEmpty();
+        assertThat(logRepository.find(name).blockOptional()).isEmpty();
+    }
+
+    /**
+     * 로그 실패를 복구하면 회원은 커밋되고 로그만 롤백된다.
+     */
+    @Test
+    void recoveredLogFailureKeepsMember() {
+        String name = "로그 예외_reactive_v2";
+
+        memberService.joinV2(name).block();
+
+        assertThat(memberRepository.find(name).blockOptional()).isPresent();
+        assertThat(logRepository.find(name).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void orderComplete() {
+        Order order = order("정상");
+
+        Order saved = orderService.order(order).block();
+
+        assertThat(orderRepository.findById(saved.getId()).block().getPayStatus()).isEqualTo(PayStatus.COMPLETE);
+    }
+
+    @Test
+    void runtimeExceptionRollsBack() {
+        Order order = order("예외");
+
+        assertThatThrownBy(() -> orderService.order(order).block()).hasMessage("시스템 예외");
+
+        assertThat(orderRepository.findById(order.getId()).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void checkedExceptionCommits() {
+        Order order = order("잔고 부족");
+
+        Mono<Order> result = orderService.order(order);
+
+        assertThatThrownBy(result::block).hasCauseInstanceOf(NotEnoughMoneyException.class);
+        assertThat(orderRepository.findById(order.getId()).block().getPayStatus()).isEqualTo(PayStatus.WAITING);
+        assertThat(orderRepository.hasPendingPayment(order.getId()).block()).isTrue();
+    }
+
+    private static Order order(String userName) {
+        Order order = new Order();
+        order.setUserName(userName);
+        return order;
+    }
+}
@@ -0,0 +1,146 @@
+package hello.springtx.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:retry;LOCK_TIMEOUT=1000")
+class RetryableTransactionTest {
+
+    @Autowired AccountService accountService;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("create table if not exists retry_account (id bigint primary key, balance int)");
+        jdbcTemplate.update("delete from retry_account");
+        jdbcTemplate.update("insert into retry_account values (1, 100), (2, 100)");
+        accountService.reset();
+    }
+
+    @Test
+    void deadlockIsRetried() {
+        CountDownLatch bothLocked = new CountDownLatch(2);
+
+        // 두 트랜잭션이 서로 반대 순서로 두 행을 잠가 데드락을 만든다. H2 는 한쪽을 희생자로 골라 40001 로 끝낸다
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> accountService.transfer(1, 2, bothLocked));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> accountService.transfer(2, 1, bothLocked));
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(accountService.attempts()).isGreaterThan(2);
+        assertThat(accountService.failures()).isNotEmpty()
+                .allSatisfy(ex -> assertThat(rootCause(ex)).isInstanceOf(SQLException.class)
+                        .extracting(cause -> ((SQLException) cause).getErrorCode()).isEqualTo(40001));
+        assertThat(jdbcTemplate.queryForObject("select sum(balance) from retry_account", Integer.class)).isEqualTo(200);
+        assertThat(meterRegistry.find(RetryableTransactionInterceptor.METRIC_NAME)
+                .tag("outcome", "recovered").counter()).isNotNull();
+    }
+
+    @Test
+    void noRetryInsideOuterTransaction() {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("update retry_account set balance = balance where id = 1");
+            held.countDown();
+            await(release);
+        }));
+        try {
+            await(held);
+
+            // H2 의 락 대기 타임아웃(50200)은 QueryTimeoutException 으로 변환된다
+            assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                    accountService.transfer(1, 2, new CountDownLatch(0))))
+                    .isInstanceOf(QueryTimeoutException.class)
+                    .satisfies(ex -> assertThat(((SQLException) rootCause(ex)).getErrorCode()).isEqualTo(50200));
+            assertThat(accountService.attempts()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable cause = ex;
+        while (!(cause instanceof SQLException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class RetryTestConfig {
+        @Bean
+        AccountService accountService(JdbcTemplate jdbcTemplate) {
+            return new AccountService(jdbcTemplate);
+        }
+    }
+
+    @Slf4j
+    @RequiredArgsConstructor
+    static class AccountService {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final List<DataAccessException> failures = new CopyOnWriteArrayList<>();
+
+        @RetryableTransaction(maxAttempts = 5, initialBackoffMillis = 10)
+        @Transactional
+        public void transfer(long from, long to, CountDownLatch bothLocked) {
+            log.info("transfer attempt={} from={} to={}", attempts.incrementAndGet(), from, to);
+            jdbcTemplate.update("update retry_account set balance = balance - 10 where id = ?", from);
+            bothLocked.countDown();
+            await(bothLocked);
+            try {
+                jdbcTemplate.update("update retry_account set balance = balance + 10 where id = ?", to);
+            } catch (DataAccessException e) {
+                failures.add(e);
+                throw e;
+            }
+        }
+
+        List<DataAccessException> failures() {
+            return failures;
+        }
+
+        int attempts() {
+            return attempts.get();
+        }
+
+        void reset() {
+            attempts.set(0);
+            failures.clear();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package hello.springtx.rollback;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import hello.springtx.order.NotEnoughMoneyException;
+import hello.springtx.order.Order;
+import hello.springtx.order.OrderRepository;
+import hello.springtx.order.OrderService;
+import hello.springtx.order.PayStatus;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.interceptor.NoRollbackRuleAttribute;
+import org.springframework.transaction.interceptor.RollbackRuleAttribute;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+@SpringBootTest(properties = "springtx.tx.rollback-cache.enabled=true")
+class RollbackRuleCacheTest {
+
+    @Autowired TransactionAttributeSource transactionAttributeSource;
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    void sameDecisionsAsRules() {
+        RuleBasedTransactionAttribute rules = new RuleBasedTransactionAttribute();
+        rules.setRollbackRules(List.of(
+                new RollbackRuleAttribute(IOException.class),
+                new NoRollbackRuleAttribute(IllegalStateException.class)));
+        CompiledRollbackRuleAttribute compiled = new CompiledRollbackRuleAttribute(rules);
+
+        List<Throwable> exceptions = List.of(new RuntimeException(), new IllegalStateException(),
+                new IllegalArgumentException(), new IOException(), new FileNotFoundException(), new Exception(),
+                new Error(), new NotEnoughMoneyException("잔고 부족"));
+        for (int round = 0; round < 3; round++) {
+            for (Throwable exception : exceptions) {
+                assertThat(compiled.rollbackOn(exception)).as(exception.getClass().getName())
+                        .isEqualTo(rules.rollbackOn(exception));
+            }
+        }
+        assertThat(compiled.cachedTypes()).isEqualTo(exceptions.size());
+    }
+
+    @Test
+    void orderAttributeCompiled() throws NoSuchMethodException {
+        Method order = OrderService.class.getMethod("order", Order.class);
+
+        TransactionAttribute attribute = transactionAttributeSource.getTransactionAttribute(order, OrderService.class);
+
+        assertThat(transactionAttributeSource).isInstanceOf(CompiledRollbackTransactionAttributeSource.class);
+        assertThat(attribute).isInstanceOf(CompiledRollbackRuleAttribute.class);
+        assertThat(attribute.rollbackOn(new NotEnoughMoneyException("잔고 부족"))).isFalse();
+        assertThat(attribute.rollbackOn(new RuntimeException())).isTrue();
+    }
+
+    @Test
+    void notEnoughMoneyCommitsWaiting() {
+        Order order = new Order();
+        order.setUserName("잔고 부족");
+
+        assertThatThrownBy(() -> orderService.order(order)).isInstanceOf(NotEnoughMoneyException.class);
+
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo(PayStatus.WAITING);
+    }
+
+    @Test
+    void stackless() {
+        NotEnoughMoneyException stackless = new NotEnoughMoneyException("잔고 부족");
+        TracedException traced = new TracedException();
+
+        assertThat(stackless.isStackless()).isTrue();
+        assertThat(stackless.getStackTrace()).isEmpty();
+        assertThat(traced.isStackless()).isFalse();
+        assertThat(traced.getStackTrace()).isNotEmpty();
+    }
+
+    static class TracedException extends BusinessException {
+        TracedException() {
+            super("스택 있음");
+        }
+    }
+}
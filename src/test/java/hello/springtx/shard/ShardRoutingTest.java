@@ -0,0 +1,158 @@
+package hello.springtx.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 샤드 3 개를 서로 다른 H2 메모리 DB 로 띄우고 각 샤드 DB 를 직접 읽어 행이 어디에 들어갔는지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "springtx.shard.enabled=true",
+        "springtx.shard.count=3",
+        "springtx.shard.url-template=jdbc:h2:mem:shard_test_%d;DB_CLOSE_DELAY=-1"
+})
+class ShardRoutingTest {
+
+    @Autowired ShardRouter shardRouter;
+    @Autowired ShardDataSources shardDataSources;
+    @Autowired ShardedMemberService memberService;
+    @Autowired ShardedOrderService orderService;
+    @Autowired MultiShardTemplate multiShardTemplate;
+    @Autowired @Qualifier(ShardConfig.TRANSACTION_MANAGER) PlatformTransactionManager shardTransactionManager;
+
+    @Test
+    void routesByName() {
+        for (int i = 0; i < 30; i++) {
+            String name = "shard_route_" + i;
+            memberService.join(name);
+
+            int shard = shardRouter.shardOf(name);
+            for (int s = 0; s < shardDataSources.size(); s++) {
+                assertThat(count(s, "member", "name", name)).isEqualTo(s == shard ? 1 : 0);
+            }
+        }
+    }
+
+    @Test
+    void memberAndOrderOnSameShard() {
+        String name = "shard_same";
+
+        memberService.joinWithOrder(name);
+
+        int shard = shardRouter.shardOf(name);
+        assertThat(count(shard, "member", "name", name)).isEqualTo(1);
+        assertThat(count(shard, "orders", "user_name", name)).isEqualTo(1);
+        assertThat(orderService.countOrders(name)).isEqualTo(1);
+    }
+
+    @Test
+    void crossShardRejected() {
+        String first = "shard_cross_a";
+        String second = nameOnOtherShard(first);
+        TransactionTemplate tx = new TransactionTemplate(shardTransactionManager);
+
+        assertThatThrownBy(() -> shardRouter.callInShard(first, () -> tx.execute(status -> {
+            memberService.join(first);
+            memberService.join(second);
+            return null;
+        }))).isInstanceOf(CrossShardTransactionException.class);
+
+        // 바깥 트랜잭션도 롤백된다
+        assertThat(memberService.exists(first)).isFalse();
+        assertThat(memberService.exists(second)).isFalse();
+    }
+
+    /**
+     * 트랜잭션 없이 읽더라도 다른 샤드로 바꾸면 바깥 트랜잭션의 커넥션을 쓰게 되므로 막는다.
+     */
+    @Test
+    void crossShardCallWithoutTransactionRejected() {
+        String first = "shard_cross_read_a";
+        String second = nameOnOtherShard(first);
+        ShardedMemberRepository memberRepository = new ShardedMemberRepository(shardDataSources);
+        TransactionTemplate tx = new TransactionTemplate(shardTransactionManager);
+
+        assertThatThrownBy(() -> shardRouter.callInShard(first, () -> tx.execute(status ->
+                shardRouter.callInShard(second, () -> memberRepository.countByName(second)))))
+                .isInstanceOf(CrossShardTransactionException.class);
+
+        // 같은 샤드는 그대로 쓸 수 있다
+        Long sameShard = shardRouter.callInShard(first, () -> tx.execute(status ->
+                shardRouter.callInShard(first, () -> memberRepository.countByName(first))));
+        assertThat(sameShard).isZero();
+    }
+
+    @Test
+    void transactionWithoutShardRejected() {
+        TransactionTemplate tx = new TransactionTemplate(shardTransactionManager);
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+        })).isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void bestEffortMultiShard() {
+        List<String> names = List.of("shard_multi_0", "shard_multi_1", "shard_multi_2", "shard_multi_3", "shard_multi_4");
+        ShardedMemberRepository memberRepository = new ShardedMemberRepository(shardDataSources);
+
+        Map<Integer, Integer> saved = multiShardTemplate.executeBestEffort(names, (shard, keys) -> {
+            keys.forEach(memberRepository::save);
+            return keys.size();
+        });
+
+        assertThat(saved.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(names.size());
+        names.forEach(name -> assertThat(memberService.exists(name)).isTrue());
+    }
+
+    @Test
+    void bestEffortKeepsCommittedShards() {
+        String first = "shard_partial_a";
+        String second = nameOnOtherShard(first);
+        ShardedMemberRepository memberRepository = new ShardedMemberRepository(shardDataSources);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> multiShardTemplate.executeBestEffort(List.of(first, second), (shard, keys) -> {
+            keys.forEach(memberRepository::save);
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("두 번째 샤드 실패");
+            }
+            return null;
+        }))
+                .isInstanceOfSatisfying(PartialShardFailureException.class, e ->
+                        assertThat(e.getCommittedShards()).hasSize(1).doesNotContain(e.getFailedShard()));
+
+        // 샤드 번호가 작은 쪽이 먼저 실행되어 커밋된다
+        String committed = shardRouter.shardOf(first) < shardRouter.shardOf(second) ? first : second;
+        String rolledBack = committed.equals(first) ? second : first;
+        assertThat(memberService.exists(committed)).isTrue();
+        assertThat(memberService.exists(rolledBack)).isFalse();
+    }
+
+    private String nameOnOtherShard(String name) {
+        int shard = shardRouter.shardOf(name);
+        for (int i = 0; ; i++) {
+            String other = name + "_" + i;
+            if (shardRouter.shardOf(other) != shard) {
+                return other;
+            }
+        }
+    }
+
+    private long count(int shard, String table, String column, String value) {
+        Long count = new JdbcTemplate(shardDataSources.shard(shard))
+                .queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, value);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,131 @@
+package hello.springtx.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest(properties = {
+        "springtx.startup.parallelism=3",
+        "springtx.startup.schema-validation=true"
+})
+class StartupTaskTest {
+
+    /** 작업 이름 -> 실행 중에 본 상태 */
+    static final Map<String, String> observed = new ConcurrentHashMap<>();
+
+    @Autowired StartupTaskRunner runner;
+    @Autowired ApplicationAvailability availability;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ConfigurableApplicationContext context;
+
+    @Test
+    void tasksRunInParallelTransactionsBeforeReady() {
+        assertThat(runner.getResults())
+                .extracting(StartupTaskResult::name)
+                .contains("schema.validate", "warmup.a", "warmup.b", "warmup.c");
+        assertThat(runner.getResults()).allMatch(StartupTaskResult::succeeded);
+        assertThat(runner.getResults())
+                .filteredOn(result -> result.name().startsWith("warmup."))
+                .allMatch(result -> result.elapsed().toMillis() >= 200);
+
+        // 각 작업은 자기 트랜잭션에서, readiness 가 열리기 전에 실행됐다
+        assertThat(observed.get("warmup.a")).startsWith("startup.warmup.a:false:REFUSING_TRAFFIC");
+        assertThat(observed.get("warmup.b")).startsWith("startup.warmup.b:true:REFUSING_TRAFFIC");
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+        // 세 작업이 서로 다른 스레드에서 돌았다
+        assertThat(observed.values().stream().map(value -> value.substring(value.lastIndexOf(':') + 1)).distinct())
+                .hasSize(3);
+    }
+
+    @Test
+    void requiredFailureFailsStartup() {
+        StartupTaskRunner failing = runnerOf(
+                StartupTask.of("optional", true, false, () -> {
+                    throw new IllegalStateException("캐시 실패");
+                }),
+                StartupTask.of("failing", true, true, () -> {
+                    throw new IllegalStateException("스키마 불일치");
+                }));
+
+        failing.afterSingletonsInstantiated();
+        assertThatThrownBy(() -> failing.onApplicationEvent(startedEvent()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("failing")
+                .hasMessageNotContaining("optional");
+        assertThat(failing.getResults()).noneMatch(StartupTaskResult::succeeded);
+    }
+
+    @Test
+    void optionalFailureOnlyWarns() {
+        StartupTaskRunner optional = runnerOf(StartupTask.of("optional", true, false, () -> {
+            throw new IllegalStateException("캐시 실패");
+        }));
+
+        optional.afterSingletonsInstantiated();
+        optional.onApplicationEvent(startedEvent());
+
+        assertThat(optional.getResults()).singleElement()
+                .satisfies(result -> assertThat(result.failure()).hasMessage("캐시 실패"));
+    }
+
+    private StartupTaskRunner runnerOf(StartupTask... tasks) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (StartupTask task : tasks) {
+            beanFactory.addBean(task.getName(), task);
+        }
+        return new StartupTaskRunner(beanFactory.getBeanProvider(StartupTask.class), transactionManager,
+                beanFactory.getBeanProvider(MeterRegistry.class), new StartupTaskProperties());
+    }
+
+    private ApplicationStartedEvent startedEvent() {
+        return new ApplicationStartedEvent(new SpringApplication(), new String[0], context, Duration.ZERO);
+    }
+
+    @TestConfiguration
+    static class WarmupConfig {
+
+        @Bean
+        StartupTask warmupA(ApplicationAvailability availability) {
+            return StartupTask.of("warmup.a", false, true, () -> observe("warmup.a", availability));
+        }
+
+        @Bean
+        StartupTask warmupB(ApplicationAvailability availability) {
+            return StartupTask.of("warmup.b", true, true, () -> observe("warmup.b", availability));
+        }
+
+        @Bean
+        StartupTask warmupC(ApplicationAvailability availability) {
+            return StartupTask.of("warmup.c", true, true, () -> observe("warmup.c", availability));
+        }
+
+        private static void observe(String name, ApplicationAvailability availability) {
+            observed.put(name, TransactionSynchronizationManager.getCurrentTransactionName() + ":"
+                    + TransactionSynchronizationManager.isCurrentTransactionReadOnly() + ":"
+                    + availability.getReadinessState() + ":" + Thread.currentThread().getName());
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package hello.springtx.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springtx.propagation.MemberService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "springtx.tx.trace.enabled=true")
+class TransactionTraceTest {
+
+    @Autowired TransactionTracer tracer;
+    @Autowired OtlpJsonExporter exporter;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired MemberService memberService;
+    @Autowired PlatformTransactionManager txManager;
+
+    @BeforeEach
+    void clear() {
+        tracer.clear();
+    }
+
+    @Test
+    void requiresNewSuspendsOuter() {
+        memberService.joinV1("trace_requiresNew");
+
+        List<TransactionSpan> spans = tracer.snapshot();
+        TransactionSpan join = find(spans, "hello.springtx.propagation.MemberService.joinV1");
+        TransactionSpan log = find(spans, "hello.springtx.propagation.LogRepository.save");
+
+        assertThat(join.isPhysical()).isTrue();
+        assertThat(join.getParentSpanId()).isNull();
+        assertThat(join.getOutcome()).isEqualTo("commit");
+
+        // 참여한 REQUIRED 는 span 이 없고, 새로 시작한 REQUIRES_NEW 는 같은 trace 의 자식이다
+        assertThat(spans).extracting(TransactionSpan::getName)
+                .doesNotContain("hello.springtx.propagation.MemberRepository.save");
+        assertThat(log.isPhysical()).isTrue();
+        assertThat(log.getPropagation()).isEqualTo("suspending");
+        assertThat(log.getParentSpanId()).isEqualTo(join.getSpanId());
+        assertThat(log.getTraceId()).isEqualTo(join.getTraceId());
+
+        assertThat(join.getEvents()).extracting(TransactionSpan.Event::name)
+                .containsSubsequence("suspend", "resume");
+        assertThat(tracer.currentSpan()).isNull();
+    }
+
+    @Test
+    void participantRollbackMarksPhysical() {
+        TransactionTemplate outer = new TransactionTemplate(txManager);
+        outer.setName("trace.outer");
+        TransactionTemplate inner = new TransactionTemplate(txManager);
+        inner.setName("trace.inner");
+
+        assertThatThrownBy(() -> outer.executeWithoutResult(status -> inner.executeWithoutResult(
+                innerStatus -> innerStatus.setRollbackOnly())))
+                .isInstanceOf(UnexpectedRollbackException.class);
+
+        List<TransactionSpan> spans = tracer.snapshot();
+        TransactionSpan outerSpan = find(spans, "trace.outer");
+
+        // 참여한 inner 는 span 이 없고, 물리 트랜잭션 span 에 rollback-only 로 롤백된 것이 남는다
+        assertThat(spans).extracting(TransactionSpan::getName).doesNotContain("trace.inner");
+        assertThat(outerSpan.getOutcome()).isEqualTo("unexpected_rollback");
+        assertThat(outerSpan.getEvents()).extracting(TransactionSpan.Event::name).contains("rollback_only");
+    }
+
+    @Test
+    void exportOtlpJson(@TempDir Path dir) throws IOException {
+        memberService.joinV1("trace_export");
+
+        Path file = exporter.export(tracer.snapshot(), dir.resolve("tx-trace.json"));
+
+        JsonNode spans = objectMapper.readTree(file.toFile())
+                .at("/resourceSpans/0/scopeSpans/0/spans");
+        assertThat(spans.size()).isGreaterThanOrEqualTo(2);
+        JsonNode first = spans.get(0);
+        assertThat(first.get("traceId").asText()).hasSize(32);
+        assertThat(first.get("spanId").asText()).hasSize(16);
+        assertThat(Long.parseLong(first.get("endTimeUnixNano").asText()))
+                .isGreaterThanOrEqualTo(Long.parseLong(first.get("startTimeUnixNano").asText()));
+    }
+
+    @Test
+    void ringBufferKeepsLatest() {
+        SpanRingBuffer buffer = new SpanRingBuffer(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+
+        TransactionTracer local = new TransactionTracer(4);
+        for (int i = 0; i < 10; i++) {
+            TransactionSpan span = local.begin("tx" + i, "REQUIRED", false, true, false, false, System.nanoTime());
+            local.end(span, "commit");
+        }
+        assertThat(local.snapshot()).extracting(TransactionSpan::getName)
+                .containsExactly("tx6", "tx7", "tx8", "tx9");
+    }
+
+    private static TransactionSpan find(List<TransactionSpan> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("span 없음: " + name));
+    }
+}
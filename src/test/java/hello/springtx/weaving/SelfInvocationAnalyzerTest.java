@@ -0,0 +1,76 @@
+package hello.springtx.weaving;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+class SelfInvocationAnalyzerTest {
+
+    SelfInvocationAnalyzer analyzer = new SelfInvocationAnalyzer(new AnnotationTransactionAttributeSource(false));
+
+    @Test
+    void findsInternalCall() {
+        List<SelfInvocation> found = analyzer.analyze(CallService.class);
+
+        assertThat(found).extracting(SelfInvocation::caller, invocation -> invocation.callee().getName(),
+                        SelfInvocation::callerTransactional)
+                .containsExactlyInAnyOrder(
+                        tuple("external", "internal", false),
+                        tuple("outer", "requiresNew", true));
+        assertThat(found).allMatch(invocation -> invocation.line() > 0);
+    }
+
+    @Test
+    void splitServiceIsClean() {
+        assertThat(analyzer.analyze(ExternalService.class)).isEmpty();
+        assertThat(analyzer.analyze(InternalService.class)).isEmpty();
+    }
+
+    static class CallService {
+
+        public void external() {
+            internal();
+        }
+
+        @Transactional
+        public void internal() {
+        }
+
+        @Transactional
+        public void outer() {
+            requiresNew();
+            helper();
+        }
+
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        public void requiresNew() {
+        }
+
+        private void helper() {
+        }
+    }
+
+    /**
+     * InternalCallV2Test 처럼 다른 빈으로 분리하면 self-invocation 이 아니다.
+     */
+    static class ExternalService {
+
+        private final InternalService internalService = new InternalService();
+
+        public void external() {
+            internalService.internal();
+        }
+    }
+
+    static class InternalService {
+
+        @Transactional
+        public void internal() {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package hello.springtx.weaving;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import hello.springtx.propagation.LogRepository;
+import hello.springtx.propagation.MemberRepository;
+import hello.springtx.propagation.MemberService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ./gradlew wovenTest 로만 실행한다 (AspectJ 에이전트 필요).
+ */
+@Tag("woven")
+@SpringBootTest(properties = "springtx.tx.weaving.enabled=true")
+class WovenTransactionTest {
+
+    @Autowired CallService callService;
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+    @Autowired SelfInvocationReport selfInvocationReport;
+
+    @Test
+    void internalCallGetsTransaction() {
+        assertThat(AopUtils.isAopProxy(callService)).isFalse();
+
+        assertThat(callService.external()).isTrue();
+    }
+
+    @Test
+    void reportFindsInternalCall() {
+        assertThat(selfInvocationReport.getFindings())
+                .anyMatch(invocation -> invocation.type() == CallService.class && invocation.caller().equals("external"));
+    }
+
+    @Test
+    void propagationUnchanged() {
+        String username = "로그 예외_woven";
+
+        assertThatThrownBy(() -> memberService.joinV1(username)).isInstanceOf(RuntimeException.class);
+
+        assertThat(memberRepository.find(username)).isEmpty();
+        assertThat(logRepository.find(username)).isEmpty();
+    }
+
+    @TestConfiguration
+    static class WovenConfig {
+        @Bean
+        CallService wovenCallService() {
+            return new CallService();
+        }
+    }
+
+    static class CallService {
+
+        public boolean external() {
+            return internal();
+        }
+
+        @Transactional
+        public boolean internal() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+    }
+}